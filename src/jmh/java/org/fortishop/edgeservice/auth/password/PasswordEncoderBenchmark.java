@@ -0,0 +1,53 @@
+package org.fortishop.edgeservice.auth.password;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * 설정별 로그인 1회(matches)의 해시 지연시간. SampleTime 모드라 p50 / p99 가 함께 출력된다.
+ * <p>
+ * 실행: ./gradlew jmh -PjmhIncludes=PasswordEncoderBenchmark
+ * <p>
+ * setting 형식: "bcrypt:{strength}" 또는 "argon2:{memoryKiB}:{iterations}:{parallelism}"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PasswordEncoderBenchmark {
+    private static final String RAW_PASSWORD = "fortishop-benchmark-pw1234";
+
+    @Param({"bcrypt:10", "bcrypt:11", "bcrypt:12", "argon2:16384:2:1", "argon2:19456:2:1", "argon2:65536:3:1"})
+    public String setting;
+
+    private PasswordEncoder passwordEncoder;
+    private String encoded;
+
+    @Setup
+    public void setUp() {
+        String[] parts = setting.split(":");
+        PasswordHashingProperties properties = new PasswordHashingProperties();
+        properties.setAlgorithm(parts[0]);
+        if (PasswordEncoders.BCRYPT.equals(parts[0])) {
+            properties.setBcryptStrength(Integer.parseInt(parts[1]));
+        } else {
+            properties.getArgon2().setMemory(Integer.parseInt(parts[1]));
+            properties.getArgon2().setIterations(Integer.parseInt(parts[2]));
+            properties.getArgon2().setParallelism(Integer.parseInt(parts[3]));
+        }
+        passwordEncoder = PasswordEncoders.create(properties);
+        encoded = passwordEncoder.encode(RAW_PASSWORD);
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return passwordEncoder.matches(RAW_PASSWORD, encoded);
+    }
+}
@@ -0,0 +1,48 @@
+package org.fortishop.edgeservice.auth;
+
+import java.util.Collection;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+/**
+ * JWT 검증 결과로 만드는 인증 객체. UsernamePasswordAuthenticationToken 과 달리 권한 목록을 복사하지 않고 principal 의 것을 그대로 쓴다.
+ */
+public record PrincipalAuthentication(PrincipalDetails principal) implements Authentication {
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return principal.getAuthorities();
+    }
+
+    @Override
+    public Object getCredentials() {
+        return null;
+    }
+
+    @Override
+    public Object getDetails() {
+        return null;
+    }
+
+    @Override
+    public Object getPrincipal() {
+        return principal;
+    }
+
+    @Override
+    public boolean isAuthenticated() {
+        return true;
+    }
+
+    @Override
+    public void setAuthenticated(boolean isAuthenticated) {
+        if (!isAuthenticated) {
+            throw new IllegalArgumentException("PrincipalAuthentication is always authenticated");
+        }
+    }
+
+    @Override
+    public String getName() {
+        return principal.getUsername();
+    }
+}
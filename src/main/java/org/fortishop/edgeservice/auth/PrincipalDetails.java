@@ -1,61 +1,66 @@
 package org.fortishop.edgeservice.auth;
 
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 import org.fortishop.edgeservice.domain.Member;
+import org.fortishop.edgeservice.domain.Role;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
-public class PrincipalDetails extends Member implements UserDetails {
-    private final Long id;
-    private final String email;
-    private String password;
-    private final String role;
-
-    public PrincipalDetails(Member member) {
-        this.id = member.getId();
-        this.email = member.getEmail();
-        this.password = member.getPassword();
-        this.role = member.getRole().toString();
-    }
+/**
+ * 인증된 회원의 불변 principal. Role 별 권한 목록은 미리 만들어 두고 공유한다.
+ * <p>
+ * password 는 로그인 시 비밀번호 검증에만 쓰이며 JWT 에서 복원한 principal 에는 null 이다.
+ */
+public record PrincipalDetails(Long id, String email, String password, String role,
+                               List<GrantedAuthority> authorities) implements UserDetails {
 
-    private PrincipalDetails(Long memberId, String email, String role) {
-        this.id = memberId;
-        this.email = email;
-        this.role = role;
-    }
+    private static final Map<String, List<GrantedAuthority>> ROLE_AUTHORITIES = Arrays.stream(Role.values())
+            .collect(Collectors.toUnmodifiableMap(Role::name,
+                    role -> List.of(new SimpleGrantedAuthority(role.name()))));
 
     public static PrincipalDetails of(Member member) {
-        return new PrincipalDetails(member);
+        return new PrincipalDetails(member.getId(), member.getEmail(), member.getPassword(), member.getRole().name(),
+                ROLE_AUTHORITIES.get(member.getRole().name()));
     }
 
     public static PrincipalDetails of(Long memberId, String email, String role) {
-        return new PrincipalDetails(memberId, email, role);
+        return new PrincipalDetails(memberId, email, null, role, authoritiesOf(role));
+    }
+
+    private static List<GrantedAuthority> authoritiesOf(String role) {
+        if (role == null) {
+            return List.of();
+        }
+        List<GrantedAuthority> authorities = ROLE_AUTHORITIES.get(role);
+        return authorities != null ? authorities : List.of(new SimpleGrantedAuthority(role));
     }
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return Collections.singletonList(new SimpleGrantedAuthority(role));
+        return authorities;
     }
 
     @Override
     public String getUsername() {
-        return this.email;
+        return email;
     }
 
     @Override
     public String getPassword() {
-        return this.password;
+        return password;
     }
-    
+
     public String getRoleName() {
-        return this.role;
+        return role;
     }
 
-    @Override
     public Long getId() {
-        return this.id;
+        return id;
     }
 
     @Override
@@ -77,4 +82,9 @@ public class PrincipalDetails extends Member implements UserDetails {
     public boolean isEnabled() {
         return true;
     }
+
+    @Override
+    public String toString() {
+        return "PrincipalDetails[id=" + id + ", email=" + email + ", role=" + role + "]";
+    }
 }
@@ -7,6 +7,7 @@ import org.fortishop.edgeservice.exception.Member.MemberException;
 import org.fortishop.edgeservice.exception.Member.MemberExceptionType;
 import org.fortishop.edgeservice.repository.MemberRepository;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -16,7 +17,7 @@ import org.springframework.transaction.annotation.Transactional;
 @Service
 @Transactional
 @RequiredArgsConstructor
-public class PrincipalDetailsService implements UserDetailsService {
+public class PrincipalDetailsService implements UserDetailsService, UserDetailsPasswordService {
     private final MemberRepository memberRepository;
 
     @Override
@@ -31,6 +32,18 @@ public class PrincipalDetailsService implements UserDetailsService {
         return createPrincipalDetails(member);
     }
 
+    /**
+     * 로그인 성공 시 저장된 해시가 현재 설정보다 약하면 DaoAuthenticationProvider 가 새 해시로 교체한다.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        Member member = memberRepository.findByEmail(user.getUsername())
+                .orElseThrow(() -> new MemberException(MemberExceptionType.MEMBER_NOT_FOUND));
+        member.updatePassword(newPassword);
+        log.info("Password hash upgraded for {}", user.getUsername());
+        return createPrincipalDetails(member);
+    }
+
     private UserDetails createPrincipalDetails(Member member) {
         return PrincipalDetails.of(member);
     }
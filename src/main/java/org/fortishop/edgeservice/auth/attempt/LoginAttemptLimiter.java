@@ -0,0 +1,119 @@
+package org.fortishop.edgeservice.auth.attempt;
+
+import java.util.List;
+import java.util.Locale;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.fortishop.edgeservice.auth.jwt.TokenDigest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+/**
+ * 계정 / IP 별 로그인 실패 횟수를 Redis 에 기록하고, 임계치를 넘으면 지수적으로 늘어나는 시간 동안 로그인을 막는다.
+ * <p>
+ * 잠금 여부는 MGET 한 번으로 확인하므로, 잠긴 요청은 회원 조회나 BCrypt 비교까지 가지 않는다. Redis 장애 시에는 제한 없이 통과시킨다.
+ * <p>
+ * 키는 대상(계정 / IP)별 해시 태그로 묶는다. 실패 기록 스크립트는 한 대상의 키만 건드리므로 Redis Cluster 에서도 CROSSSLOT 이 나지 않고,
+ * 대신 실패 한 번에 스크립트를 두 번 호출한다. 슬롯이 다른 두 잠금 키의 MGET 은 Lettuce 클러스터 연결이 슬롯별로 나눠 보낸다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LoginAttemptLimiter {
+    private static final RedisScript<Long> FAILURE_SCRIPT = failureScript();
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final LoginAttemptProperties properties;
+
+    /**
+     * 잠겨 있으면 LoginLockedException 을 던진다.
+     */
+    public void check(String email, String ip) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        List<String> lockedUntil;
+        try {
+            lockedUntil = stringRedisTemplate.opsForValue().multiGet(List.of(
+                    accountKey("l", email), ipKey("l", ip)));
+        } catch (DataAccessException e) {
+            log.warn("Failed to check login lock. Skip limiting", e);
+            return;
+        }
+        if (lockedUntil == null) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        long until = lockedUntil.stream()
+                .filter(value -> value != null)
+                .mapToLong(Long::parseLong)
+                .max()
+                .orElse(0L);
+        if (until > now) {
+            throw new LoginLockedException(Math.max(1L, (until - now + 999) / 1000));
+        }
+    }
+
+    public void onFailure(String email, String ip) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        // 계정과 IP 는 서로 다른 슬롯일 수 있어 대상별로 스크립트를 나눠 호출한다.
+        long now = System.currentTimeMillis();
+        recordFailure(now, properties.getMaxAccountFailures(),
+                accountKey("f", email), accountKey("l", email), accountKey("n", email));
+        Long lockedUntil = recordFailure(now, properties.getMaxIpFailures(),
+                ipKey("f", ip), ipKey("l", ip), ipKey("n", ip));
+        if (lockedUntil != null && lockedUntil > 0) {
+            log.warn("Login locked until {} (ip = {})", lockedUntil, ip);
+        }
+    }
+
+    public void onSuccess(String email) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            stringRedisTemplate.delete(List.of(accountKey("f", email), accountKey("n", email)));
+        } catch (DataAccessException e) {
+            log.warn("Failed to reset login failures", e);
+        }
+    }
+
+    private Long recordFailure(long now, int threshold, String failureKey, String lockKey, String levelKey) {
+        try {
+            return stringRedisTemplate.execute(FAILURE_SCRIPT, List.of(failureKey, lockKey, levelKey),
+                    String.valueOf(now),
+                    String.valueOf(properties.getFailureWindow().toMillis()),
+                    String.valueOf(threshold),
+                    String.valueOf(properties.getBaseLockout().toMillis()),
+                    String.valueOf(properties.getMaxLockout().toMillis()),
+                    String.valueOf(properties.getLockoutLevelTtl().toMillis()));
+        } catch (DataAccessException e) {
+            log.warn("Failed to record login failure", e);
+            return null;
+        }
+    }
+
+    // 이메일은 그대로 키에 남기지 않고 해시해서 사용한다. 한 대상의 키는 해시 태그 {a:<hash>} 로 같은 슬롯에 둔다.
+    private static String accountKey(String type, String email) {
+        String normalized = email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+        return "la:{a:" + TokenDigest.of(normalized).toHex() + "}:" + type;
+    }
+
+    private static String ipKey(String type, String ip) {
+        return "la:{i:" + ip + "}:" + type;
+    }
+
+    private static RedisScript<Long> failureScript() {
+        DefaultRedisScript<Long> script = new DefaultRedisScript<>();
+        script.setLocation(new ClassPathResource("scripts/login-failure.lua"));
+        script.setResultType(Long.class);
+        return script;
+    }
+}
@@ -0,0 +1,21 @@
+package org.fortishop.edgeservice.auth.attempt;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@ConfigurationProperties(prefix = "login-attempt")
+public class LoginAttemptProperties {
+    private boolean enabled = true;
+    private int maxAccountFailures = 5;
+    private int maxIpFailures = 20;
+    private Duration failureWindow = Duration.ofMinutes(15);
+    private Duration baseLockout = Duration.ofMinutes(1);
+    private Duration maxLockout = Duration.ofHours(1);
+    private Duration lockoutLevelTtl = Duration.ofHours(24);  // 잠금 단계(지수)를 기억하는 기간
+}
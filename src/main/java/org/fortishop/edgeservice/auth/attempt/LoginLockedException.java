@@ -0,0 +1,14 @@
+package org.fortishop.edgeservice.auth.attempt;
+
+import lombok.Getter;
+import org.springframework.security.core.AuthenticationException;
+
+@Getter
+public class LoginLockedException extends AuthenticationException {
+    private final long retryAfterSeconds;
+
+    public LoginLockedException(long retryAfterSeconds) {
+        super("Too many failed login attempts");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -1,21 +1,28 @@
 package org.fortishop.edgeservice.auth.filter;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.fortishop.edgeservice.auth.PrincipalDetails;
 import org.fortishop.edgeservice.auth.TokenDto;
+import org.fortishop.edgeservice.auth.attempt.LoginAttemptLimiter;
+import org.fortishop.edgeservice.auth.attempt.LoginLockedException;
 import org.fortishop.edgeservice.auth.jwt.JwtTokenProvider;
+import org.fortishop.edgeservice.auth.password.PasswordHashingRejectedException;
+import org.fortishop.edgeservice.auth.revocation.MemberTokenVersions;
 import org.fortishop.edgeservice.dto.request.LoginRequest;
+import org.fortishop.edgeservice.global.Responder;
 import org.fortishop.edgeservice.service.RefreshTokenService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -29,8 +36,12 @@ public class JwtAuthenticationFilter extends UsernamePasswordAuthenticationFilte
     private final AuthenticationManager authenticationManager;
     private final JwtTokenProvider jwtTokenProvider;
     private final RefreshTokenService refreshTokenService;
+    private final MemberTokenVersions memberTokenVersions;
+    private final LoginAttemptLimiter loginAttemptLimiter;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
+    private static final String LOGIN_EMAIL_ATTRIBUTE = JwtAuthenticationFilter.class.getName() + ".EMAIL";
+
     @Override
     public Authentication attemptAuthentication(HttpServletRequest request, HttpServletResponse response)
             throws AuthenticationException {
@@ -45,6 +56,9 @@ public class JwtAuthenticationFilter extends UsernamePasswordAuthenticationFilte
 
             log.info("[JwtAuthenticationFilter] Attempting login for email: {}", loginRequest.getEmail());
 
+            request.setAttribute(LOGIN_EMAIL_ATTRIBUTE, loginRequest.getEmail());
+            loginAttemptLimiter.check(loginRequest.getEmail(), request.getRemoteAddr());
+
             return authenticationManager.authenticate(authRequest);
         } catch (IOException e) {
             throw new RuntimeException("로그인 요청 JSON 파싱 실패", e);
@@ -57,17 +71,18 @@ public class JwtAuthenticationFilter extends UsernamePasswordAuthenticationFilte
             throws IOException, ServletException {
 
         PrincipalDetails principal = (PrincipalDetails) authResult.getPrincipal();
-        TokenDto tokenDto = jwtTokenProvider.generateTokenDto(principal);
+        loginAttemptLimiter.onSuccess(principal.getUsername());
+        String deviceId = jwtTokenProvider.resolveDeviceId(request);
+        TokenDto tokenDto = jwtTokenProvider.generateTokenDto(principal,
+                memberTokenVersions.current(principal.getId()), deviceId);
 
         jwtTokenProvider.accessTokenSetHeader(tokenDto.getAccessToken(), response);
         jwtTokenProvider.setTokenCookie("refreshToken", tokenDto.getRefreshToken(), response);
 
-        Claims claims = jwtTokenProvider.parseClaims(tokenDto.getRefreshToken());
-        LocalDateTime expiresAt = claims.getExpiration().toInstant()
-                .atZone(ZoneId.systemDefault())
-                .toLocalDateTime();
+        LocalDateTime expiresAt = LocalDateTime.ofInstant(
+                Instant.ofEpochMilli(tokenDto.getRefreshTokenExpiresIn()), ZoneId.systemDefault());
 
-        refreshTokenService.save(principal.getUsername(), tokenDto.getRefreshToken(), expiresAt);
+        refreshTokenService.save(principal.getId(), deviceId, tokenDto.getRefreshToken(), expiresAt);
 
         response.setStatus(HttpServletResponse.SC_OK);
         log.info("[JwtAuthenticationFilter] 로그인 성공: {}", principal.getUsername());
@@ -77,6 +92,23 @@ public class JwtAuthenticationFilter extends UsernamePasswordAuthenticationFilte
     protected void unsuccessfulAuthentication(HttpServletRequest request, HttpServletResponse response,
                                               AuthenticationException failed)
             throws IOException, ServletException {
+        if (failed instanceof PasswordHashingRejectedException rejected) {
+            log.warn("[JwtAuthenticationFilter] 로그인 요청 과부하: {}", failed.getMessage());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(rejected.getRetryAfterSeconds()));
+            Responder.error(response, "503", "잠시 후 다시 시도해주세요.", HttpStatus.SERVICE_UNAVAILABLE);
+            return;
+        }
+        if (failed instanceof LoginLockedException locked) {
+            log.warn("[JwtAuthenticationFilter] 로그인 잠금 상태: {}", request.getAttribute(LOGIN_EMAIL_ATTRIBUTE));
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(locked.getRetryAfterSeconds()));
+            Responder.error(response, "429", "로그인 시도 횟수를 초과했습니다. 잠시 후 다시 시도해주세요.",
+                    HttpStatus.TOO_MANY_REQUESTS);
+            return;
+        }
+        Object email = request.getAttribute(LOGIN_EMAIL_ATTRIBUTE);
+        if (email != null) {
+            loginAttemptLimiter.onFailure(email.toString(), request.getRemoteAddr());
+        }
         log.warn("[JwtAuthenticationFilter] 로그인 실패: {}", failed.getMessage());
         response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "로그인 실패: " + failed.getMessage());
     }
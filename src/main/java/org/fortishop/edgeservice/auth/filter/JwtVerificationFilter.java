@@ -2,33 +2,32 @@ package org.fortishop.edgeservice.auth.filter;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.constraints.NotNull;
 import java.io.IOException;
-import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.fortishop.edgeservice.auth.jwt.JwtTokenProvider;
+import org.fortishop.edgeservice.auth.revocation.MemberTokenVersions;
+import org.fortishop.edgeservice.auth.revocation.TokenBlacklist;
 import org.fortishop.edgeservice.global.ErrorResponse;
 import org.fortishop.edgeservice.global.exception.BaseException;
-import org.fortishop.edgeservice.global.redis.RedisService;
+import org.fortishop.edgeservice.global.route.RouteClassifier;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 @Slf4j
 @RequiredArgsConstructor
 public class JwtVerificationFilter extends OncePerRequestFilter {
-    private static final List<String> EXCLUDED_PATHS =
-            List.of("/api/members/signup", "/api/members/check-nickname",
-                    "/api/members/check-email", "/api/auths/reissue", "/actuator", "/actuator/",
-                    "/actuator/prometheus");
     private final JwtTokenProvider jwtTokenProvider;
-    private final RedisService redisService;
+    private final TokenBlacklist tokenBlacklist;
+    private final MemberTokenVersions memberTokenVersions;
+    private final RouteClassifier routeClassifier;
     private static final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
 
     @Override
@@ -37,14 +36,15 @@ public class JwtVerificationFilter extends OncePerRequestFilter {
         log.info("doFilterInternal executed");
 
         try {
-            String accessToken = jwtTokenProvider.resolveAccessToken(request);
-
-            if (StringUtils.hasText(accessToken) && isLogoutAccount(accessToken)) {
-                throw new RuntimeException("Token is in logout state.");
-            }
-
-            if (StringUtils.hasText(accessToken) && jwtTokenProvider.validateToken(accessToken)) {
-                setAuthentication(accessToken);
+            Claims claims = jwtTokenProvider.resolveVerifiedClaims(request);
+            if (claims != null) {
+                if (isLogoutAccount(claims, jwtTokenProvider.resolveAccessToken(request))) {
+                    throw new RuntimeException("Token is in logout state.");
+                }
+                if (memberTokenVersions.isRevoked(claims)) {
+                    throw new RuntimeException("Token has been revoked.");
+                }
+                setAuthentication(claims);
             }
         } catch (RuntimeException e) {
             log.info("doFilterInternal failed");
@@ -75,20 +75,17 @@ public class JwtVerificationFilter extends OncePerRequestFilter {
         }
     }
 
-    private boolean isLogoutAccount(String accessToken) {
-        String isLogout = redisService.getValues(accessToken);
-        return "true".equals(isLogout);
+    private boolean isLogoutAccount(Claims claims, String accessToken) {
+        return tokenBlacklist.isRevoked(claims, accessToken);
     }
 
     @Override
     protected boolean shouldNotFilter(@NotNull HttpServletRequest request) {
-        log.info("Request URI excluded from JwtVerificationFilter");
-        String path = request.getServletPath();
-        return EXCLUDED_PATHS.stream().anyMatch(path::startsWith);
+        return routeClassifier.classify(request).isPublic();
     }
 
-    private void setAuthentication(String accessToken) {
-        Authentication authentication = jwtTokenProvider.getAuthentication(accessToken);
+    private void setAuthentication(Claims claims) {
+        Authentication authentication = jwtTokenProvider.getAuthentication(claims);
         SecurityContextHolder.getContext().setAuthentication(authentication);
         log.info("Set Authentication Success");
     }
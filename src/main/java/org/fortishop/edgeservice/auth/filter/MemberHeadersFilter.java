@@ -0,0 +1,56 @@
+package org.fortishop.edgeservice.auth.filter;
+
+import org.fortishop.edgeservice.auth.PrincipalDetails;
+import org.springframework.cloud.gateway.server.mvc.filter.HttpHeadersFilter.RequestHttpHeadersFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.servlet.function.ServerRequest;
+
+/**
+ * 게이트웨이가 upstream 으로 보내는 헤더에 인증된 회원의 id / role 을 넣는다.
+ * <p>
+ * 서블릿 요청을 감싸지 않고 게이트웨이가 만든 (대소문자 구분 없는) HttpHeaders 에 쓰며, 클라이언트가 보낸 같은 이름의 헤더는 항상 제거한다.
+ * 기본 헤더 필터(Forwarded, X-Forwarded 등)가 이미 쓰기 가능한 복사본을 넘겨주므로 가장 마지막에 실행해 그 복사본에 바로 쓴다.
+ * 기본 필터가 꺼져 있어 읽기 전용 헤더가 들어올 때만 복사한다.
+ */
+public class MemberHeadersFilter implements RequestHttpHeadersFilter, Ordered {
+    public static final String MEMBER_ID_HEADER = "x-member-id";
+    public static final String MEMBER_ROLE_HEADER = "x-member-role";
+
+    @Override
+    public HttpHeaders apply(HttpHeaders input, ServerRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        PrincipalDetails principal = authentication != null
+                && authentication.getPrincipal() instanceof PrincipalDetails details ? details : null;
+        if (principal == null && !input.containsKey(MEMBER_ID_HEADER) && !input.containsKey(MEMBER_ROLE_HEADER)) {
+            return input;
+        }
+
+        HttpHeaders headers = isWritable(input) ? input : copy(input);
+        headers.remove(MEMBER_ID_HEADER);
+        headers.remove(MEMBER_ROLE_HEADER);
+        if (principal != null) {
+            headers.set(MEMBER_ID_HEADER, principal.getId().toString());
+            headers.set(MEMBER_ROLE_HEADER, principal.getRoleName());
+        }
+        return headers;
+    }
+
+    // 읽기 전용 헤더는 HttpHeaders 의 하위 클래스(ReadOnlyHttpHeaders)로 감싸져 있다.
+    private static boolean isWritable(HttpHeaders headers) {
+        return headers.getClass() == HttpHeaders.class;
+    }
+
+    private static HttpHeaders copy(HttpHeaders input) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(input);
+        return headers;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+}
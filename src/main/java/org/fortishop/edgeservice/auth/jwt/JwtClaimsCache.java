@@ -0,0 +1,65 @@
+package org.fortishop.edgeservice.auth.jwt;
+
+import io.jsonwebtoken.Claims;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 서명 검증을 통과한 토큰의 Claims를 토큰 만료 시각까지만 보관하는 크기 제한 캐시.
+ */
+public class JwtClaimsCache {
+
+    private final int maxSize;
+    private final ConcurrentHashMap<TokenDigest, Entry> entries;
+
+    public JwtClaimsCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.entries = new ConcurrentHashMap<>(Math.max(16, maxSize / 4));
+    }
+
+    public Claims get(TokenDigest digest, long now) {
+        Entry entry = entries.get(digest);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt() <= now) {
+            entries.remove(digest, entry);
+            return null;
+        }
+        return entry.claims();
+    }
+
+    public void put(TokenDigest digest, Claims claims, long now) {
+        if (maxSize <= 0) {
+            return;
+        }
+        Date expiration = claims.getExpiration();
+        if (expiration == null || expiration.getTime() <= now) {
+            return;
+        }
+        if (entries.size() >= maxSize) {
+            evict(now);
+        }
+        entries.put(digest, new Entry(claims, expiration.getTime()));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void evict(long now) {
+        entries.values().removeIf(entry -> entry.expiresAt() <= now);
+
+        // 만료된 항목만으로 공간이 확보되지 않으면 임의의 10%를 비운다.
+        int target = maxSize - Math.max(1, maxSize / 10);
+        Iterator<TokenDigest> iterator = entries.keySet().iterator();
+        while (entries.size() > target && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private record Entry(Claims claims, long expiresAt) {
+    }
+}
@@ -0,0 +1,86 @@
+package org.fortishop.edgeservice.auth.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.util.StringUtils;
+
+/**
+ * kid 별 서명 키와 이를 사용하는 JwtParser를 한 번만 만들어 두는 불변 객체. 키 교체 시에는 새 인스턴스로 통째로 바꾼다.
+ */
+public final class JwtKeyRing {
+    public static final String DEFAULT_KEY_ID = "default";
+
+    private final Map<String, Key> keys;
+    private final String activeKeyId;
+    private final Key activeKey;
+    private final JwtParser parser;
+
+    private JwtKeyRing(Map<String, Key> keys, String activeKeyId) {
+        this.keys = Collections.unmodifiableMap(keys);
+        this.activeKeyId = activeKeyId;
+        this.activeKey = keys.get(activeKeyId);
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return resolveKey(header.getKeyId());
+                    }
+                })
+                .build();
+    }
+
+    public static JwtKeyRing from(JwtProperties jwtProperties) {
+        Map<String, Key> keys = new LinkedHashMap<>();
+        if (StringUtils.hasText(jwtProperties.getSecret())) {
+            keys.put(DEFAULT_KEY_ID, hmacKey(jwtProperties.getSecret()));
+        }
+        jwtProperties.getKeys().forEach((keyId, secret) -> keys.put(keyId, hmacKey(secret)));
+
+        String activeKeyId = StringUtils.hasText(jwtProperties.getActiveKeyId())
+                ? jwtProperties.getActiveKeyId()
+                : DEFAULT_KEY_ID;
+        if (!keys.containsKey(activeKeyId)) {
+            throw new IllegalStateException("JWT active key is not configured: " + activeKeyId);
+        }
+        return new JwtKeyRing(keys, activeKeyId);
+    }
+
+    private static Key hmacKey(String secret) {
+        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Key resolveKey(String keyId) {
+        if (keyId == null) {
+            // kid 헤더가 없는 기존 토큰은 기본 키(없으면 현재 서명 키)로 검증한다.
+            Key legacyKey = keys.get(DEFAULT_KEY_ID);
+            return legacyKey != null ? legacyKey : activeKey;
+        }
+        Key key = keys.get(keyId);
+        if (key == null) {
+            throw new SignatureException("Unknown JWT key id: " + keyId);
+        }
+        return key;
+    }
+
+    public String getActiveKeyId() {
+        return activeKeyId;
+    }
+
+    public Key getActiveKey() {
+        return activeKey;
+    }
+
+    public JwtParser getParser() {
+        return parser;
+    }
+}
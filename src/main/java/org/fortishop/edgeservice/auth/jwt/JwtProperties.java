@@ -1,5 +1,8 @@
 package org.fortishop.edgeservice.auth.jwt;
 
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -11,7 +14,12 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 @ConfigurationProperties(prefix = "jwt")
 public class JwtProperties {
     private String secret;
+    private String activeKeyId;
+    private Map<String, String> keys = new LinkedHashMap<>();  // kid -> secret
     private long accessTokenValidity;
     private long refreshTokenValidity;
+    private int claimsCacheSize = 10_000;
+    private String refreshTokenStore = "redis";  // redis | jpa
+    private Duration refreshTokenFlushInterval = Duration.ofMillis(200);  // jpa 저장소의 write-behind 반영 주기
 }
 
@@ -6,11 +6,8 @@ import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.UnsupportedJwtException;
-import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.io.Encoders;
-import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
-import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -18,14 +15,18 @@ import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.UUID;
+import java.util.regex.Pattern;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.fortishop.edgeservice.auth.PrincipalAuthentication;
 import org.fortishop.edgeservice.auth.PrincipalDetails;
 import org.fortishop.edgeservice.auth.TokenDto;
+import org.fortishop.edgeservice.auth.refresh.RefreshTokenStore;
+import org.fortishop.edgeservice.auth.revocation.MemberTokenVersions;
 import org.fortishop.edgeservice.exception.Token.TokenException;
 import org.fortishop.edgeservice.exception.Token.TokenExceptionType;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -35,39 +36,37 @@ import org.springframework.util.StringUtils;
 @RequiredArgsConstructor
 public class JwtTokenProvider {
     private final JwtProperties jwtProperties;
+    private final JwtVerifier jwtVerifier;
     private static final String BEARER = "Bearer";
     private static final String AUTHORIZATION_HEADER = "Authorization";
     private static final String BEARER_PREFIX = "Bearer ";
-
-    private Key key;
-
-    @PostConstruct
-    public void init() {
-        String base64EncodedSecretKey = encodeBase64SecretKey(jwtProperties.getSecret());
-        this.key = getKeyFromBase64EncodeKey(base64EncodedSecretKey);
-    }
+    private static final String KEY_ID_HEADER = "kid";
+    private static final String DEVICE_ID_HEADER = "X-Device-Id";
+    private static final String DEVICE_ID_CLAIM = "did";
+    private static final Pattern DEVICE_ID_PATTERN = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+    public static final String VERIFIED_CLAIMS_ATTRIBUTE = JwtTokenProvider.class.getName() + ".VERIFIED_CLAIMS";
 
     public String encodeBase64SecretKey(String secretKey) {
         return Encoders.BASE64.encode(secretKey.getBytes(StandardCharsets.UTF_8));
     }
 
-    private Key getKeyFromBase64EncodeKey(String base64EncodedSecretKey) {
-        byte[] keyBytes = Decoders.BASE64.decode(base64EncodedSecretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
-
-    public TokenDto generateTokenDto(PrincipalDetails principalDetails) {
+    public TokenDto generateTokenDto(PrincipalDetails principalDetails, long tokenVersion, String deviceId) {
         log.info("GenerateTokenDto execute principalDetails : {} {}",
                 principalDetails.getUsername(), principalDetails.getAuthorities());
         log.info("expiration period : {}", jwtProperties.getAccessTokenValidity());
         Date accessTokenExpirationDate = getTokenExpiration(jwtProperties.getAccessTokenValidity());
         Date refreshTokenExpirationDate = getTokenExpiration(jwtProperties.getRefreshTokenValidity());
-        String role = principalDetails.getAuthorities().iterator().next().getAuthority();
+        String role = principalDetails.getRoleName();
         Long memberId = principalDetails.getId();
+        JwtKeyRing keyRing = jwtVerifier.keyRing();
+        Key key = keyRing.getActiveKey();
 
         String accessToken = Jwts.builder()
+                .setHeaderParam(KEY_ID_HEADER, keyRing.getActiveKeyId())
+                .setId(UUID.randomUUID().toString())
                 .claim("memberId", memberId)
                 .claim("role", role)
+                .claim(MemberTokenVersions.VERSION_CLAIM, tokenVersion)
                 .setSubject(principalDetails.getUsername())
                 .setExpiration(accessTokenExpirationDate)
                 .setIssuedAt(Calendar.getInstance().getTime())
@@ -75,6 +74,11 @@ public class JwtTokenProvider {
                 .compact();
 
         String refreshToken = Jwts.builder()
+                .setHeaderParam(KEY_ID_HEADER, keyRing.getActiveKeyId())
+                .setId(UUID.randomUUID().toString())
+                .claim("memberId", memberId)
+                .claim(MemberTokenVersions.VERSION_CLAIM, tokenVersion)
+                .claim(DEVICE_ID_CLAIM, deviceId)
                 .setSubject(principalDetails.getUsername())
                 .setExpiration(refreshTokenExpirationDate)
                 .setIssuedAt(Calendar.getInstance().getTime())
@@ -87,43 +91,71 @@ public class JwtTokenProvider {
                 .accessToken(accessToken)
                 .accessTokenExpiresIn(accessTokenExpirationDate.getTime())
                 .refreshToken(refreshToken)
+                .refreshTokenExpiresIn(refreshTokenExpirationDate.getTime())
                 .build();
     }
 
     public Authentication getAuthentication(String accessToken) {
         log.info("getAuthentication execute accessToken: {}", accessToken);
-        Claims claims = parseClaims(accessToken);
+        return getAuthentication(parseClaims(accessToken));
+    }
 
+    public Authentication getAuthentication(Claims claims) {
         if (claims.get("role") == null || claims.get("memberId") == null) {
-            log.debug("getAuthentication exception execute : no role or id in accessToken : {}", accessToken);
+            log.debug("getAuthentication exception execute : no role or id in accessToken : {}", claims.getSubject());
             throw new BadCredentialsException("Invalid access token");
         }
 
-        Integer memberIdNumber = (Integer) claims.get("memberId");
-        Long memberId = memberIdNumber.longValue();
+        Long memberId = ((Number) claims.get("memberId")).longValue();
         String authority = claims.get("role").toString();
         PrincipalDetails principalDetails = PrincipalDetails.of(
                 memberId, claims.getSubject(), authority);
-        log.info("getAuthentication Role check : {}",
-                principalDetails.getAuthorities().iterator().next().getAuthority());
-        return new UsernamePasswordAuthenticationToken(principalDetails, null, principalDetails.getAuthorities());
+        log.debug("getAuthentication Role check : {}", authority);
+        return new PrincipalAuthentication(principalDetails);
     }
 
     public boolean validateToken(String token) {
-        log.info("ValidateToken execute, token = {}", token);
+        log.debug("ValidateToken execute, token = {}", token);
+        verify(token);
+        return true;
+    }
+
+    /**
+     * 요청당 한 번만 AccessToken을 검증하고, 결과(Claims 또는 검증 실패)를 요청 속성에 보관해 이후 필터가 재사용한다.
+     */
+    public Claims resolveVerifiedClaims(HttpServletRequest request) {
+        Object verified = request.getAttribute(VERIFIED_CLAIMS_ATTRIBUTE);
+        if (verified instanceof Claims claims) {
+            return claims;
+        }
+        if (verified instanceof TokenException e) {
+            throw e;
+        }
+
+        String accessToken = resolveAccessToken(request);
+        if (!StringUtils.hasText(accessToken)) {
+            return null;
+        }
+        try {
+            Claims claims = verify(accessToken);
+            request.setAttribute(VERIFIED_CLAIMS_ATTRIBUTE, claims);
+            return claims;
+        } catch (TokenException e) {
+            request.setAttribute(VERIFIED_CLAIMS_ATTRIBUTE, e);
+            throw e;
+        }
+    }
+
+    public Claims verify(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(this.key)
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
+            return parse(token);
         } catch (MalformedJwtException e) {
             log.info("Invalid JWT token");
             log.trace("Invalid JWT token trace = { }", e);
             throw new TokenException(TokenExceptionType.TOKEN_INVALID);
         } catch (ExpiredJwtException e) {
             log.info("Expired JWT token");
-            log.info("Expired JWT token trace = { }", e);
+            log.trace("Expired JWT token trace = { }", e);
             throw new TokenException(TokenExceptionType.TOKEN_EXPIRED);
         } catch (UnsupportedJwtException e) {
             log.info("Unsupported JWT token");
@@ -140,6 +172,10 @@ public class JwtTokenProvider {
         }
     }
 
+    private Claims parse(String token) {
+        return jwtVerifier.parse(token);
+    }
+
     private Date getTokenExpiration(long expirationPeriod) {
         Date date = new Date();
         return new Date(date.getTime() + expirationPeriod);
@@ -156,11 +192,7 @@ public class JwtTokenProvider {
 
     public Claims parseClaims(String token) {
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+            return parse(token);
         } catch (ExpiredJwtException e) {
             return e.getClaims();
         }
@@ -180,6 +212,22 @@ public class JwtTokenProvider {
         return null;
     }
 
+    /**
+     * 클라이언트가 보낸 기기 식별자를 사용하고, 없거나 형식이 맞지 않으면 새로 발급한다.
+     */
+    public String resolveDeviceId(HttpServletRequest request) {
+        String deviceId = request.getHeader(DEVICE_ID_HEADER);
+        if (deviceId != null && DEVICE_ID_PATTERN.matcher(deviceId).matches()) {
+            return deviceId;
+        }
+        return UUID.randomUUID().toString();
+    }
+
+    public String getDeviceId(Claims claims) {
+        Object deviceId = claims.get(DEVICE_ID_CLAIM);
+        return deviceId != null ? deviceId.toString() : RefreshTokenStore.DEFAULT_DEVICE_ID;
+    }
+
     public String resolveRefreshToken(HttpServletRequest request) {
         Cookie[] cookies = request.getCookies();
         if (cookies != null) {
@@ -0,0 +1,55 @@
+package org.fortishop.edgeservice.auth.jwt;
+
+import io.jsonwebtoken.Claims;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+@Slf4j
+@Component
+public class JwtVerifier {
+    private final JwtProperties jwtProperties;
+
+    private volatile JwtKeyRing keyRing;
+    private volatile JwtClaimsCache claimsCache;
+
+    public JwtVerifier(JwtProperties jwtProperties) {
+        this.jwtProperties = jwtProperties;
+        this.keyRing = JwtKeyRing.from(jwtProperties);
+        this.claimsCache = new JwtClaimsCache(jwtProperties.getClaimsCacheSize());
+    }
+
+    /**
+     * Config Server + Bus refresh 후 다시 바인딩된 jwt.* 설정으로 키를 교체한다. 폐기된 키로 검증된 Claims가 남지 않도록 캐시도 비운다.
+     */
+    @EventListener(RefreshScopeRefreshedEvent.class)
+    public void reload() {
+        JwtKeyRing reloaded = JwtKeyRing.from(jwtProperties);
+        this.claimsCache = new JwtClaimsCache(jwtProperties.getClaimsCacheSize());
+        this.keyRing = reloaded;
+        log.info("JWT key ring reloaded. active kid = {}", reloaded.getActiveKeyId());
+    }
+
+    public JwtKeyRing keyRing() {
+        return keyRing;
+    }
+
+    public Claims parse(String token) {
+        if (!StringUtils.hasText(token)) {
+            throw new IllegalArgumentException("JWT String argument cannot be null or empty.");
+        }
+        long now = System.currentTimeMillis();
+        JwtClaimsCache cache = this.claimsCache;
+        TokenDigest digest = TokenDigest.of(token);
+        Claims cached = cache.get(digest, now);
+        if (cached != null) {
+            return cached;
+        }
+
+        Claims claims = keyRing.getParser().parseClaimsJws(token).getBody();
+        cache.put(digest, claims, now);
+        return claims;
+    }
+}
@@ -0,0 +1,49 @@
+package org.fortishop.edgeservice.auth.jwt;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * 토큰 원문 대신 사용하는 고정 길이(128bit) 식별자. SHA-256 다이제스트의 앞 16바이트를 사용한다.
+ */
+public record TokenDigest(long high, long low) {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    });
+
+    public static TokenDigest of(String token) {
+        MessageDigest messageDigest = SHA_256.get();
+        byte[] hash = messageDigest.digest(token.getBytes(StandardCharsets.UTF_8));
+        ByteBuffer buffer = ByteBuffer.wrap(hash);
+        return new TokenDigest(buffer.getLong(), buffer.getLong());
+    }
+
+    /**
+     * jti 가 UUID 형식이면 해시 없이 그대로 128bit 식별자로 사용한다.
+     */
+    public static TokenDigest ofTokenId(String tokenId) {
+        try {
+            UUID uuid = UUID.fromString(tokenId);
+            return new TokenDigest(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+        } catch (IllegalArgumentException e) {
+            return of(tokenId);
+        }
+    }
+
+    public byte[] toBytes() {
+        return ByteBuffer.allocate(16).putLong(high).putLong(low).array();
+    }
+
+    public String toHex() {
+        return HexFormat.of().formatHex(toBytes());
+    }
+}
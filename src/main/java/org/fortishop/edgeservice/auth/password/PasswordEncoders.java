@@ -0,0 +1,36 @@
+package org.fortishop.edgeservice.auth.password;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * 설정된 알고리즘 / 비용으로 "{id}hash" 형식의 해시를 만드는 DelegatingPasswordEncoder 를 구성한다.
+ * <p>
+ * 접두어가 없는 기존 해시는 BCrypt 로 검증하고, 설정과 다른 알고리즘이나 낮은 비용의 해시는 upgradeEncoding() 이 true 를 돌려준다.
+ */
+public final class PasswordEncoders {
+    public static final String BCRYPT = "bcrypt";
+    public static final String ARGON2 = "argon2";
+
+    private PasswordEncoders() {
+    }
+
+    public static PasswordEncoder create(PasswordHashingProperties properties) {
+        PasswordHashingProperties.Argon2 argon2 = properties.getArgon2();
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(BCRYPT, new BCryptPasswordEncoder(properties.getBcryptStrength()));
+        encoders.put(ARGON2, new Argon2PasswordEncoder(argon2.getSaltLength(), argon2.getHashLength(),
+                argon2.getParallelism(), argon2.getMemory(), argon2.getIterations()));
+
+        if (!encoders.containsKey(properties.getAlgorithm())) {
+            throw new IllegalStateException("Unsupported password hashing algorithm: " + properties.getAlgorithm());
+        }
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(properties.getAlgorithm(), encoders);
+        delegating.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+        return delegating;
+    }
+}
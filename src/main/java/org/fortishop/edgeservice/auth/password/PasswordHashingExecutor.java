@@ -0,0 +1,125 @@
+package org.fortishop.edgeservice.auth.password;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * BCrypt 같은 CPU 바운드 해시 연산을 Tomcat 요청 스레드 대신 코어 수 크기의 전용 풀에서 실행한다.
+ * <p>
+ * 대기열이 가득 차거나 deadline 안에 결과를 받지 못하면 PasswordHashingRejectedException 을 던져 요청 스레드를 즉시 돌려준다.
+ */
+@Slf4j
+@Component
+public class PasswordHashingExecutor {
+    private final ThreadPoolExecutor executor;
+    private final long deadlineNanos;
+    private final int retryAfterSeconds;
+    private final Timer hashTimer;
+    private final Timer waitTimer;
+    private final Counter rejectedCounter;
+
+    public PasswordHashingExecutor(PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+        int threads = properties.resolveThreads();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.resolveQueueCapacity()), threadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.deadlineNanos = properties.getDeadline().toNanos();
+        this.retryAfterSeconds = properties.getRetryAfterSeconds();
+
+        Gauge.builder("password.hashing.queue.size", executor, e -> e.getQueue().size())
+                .description("비밀번호 해시 대기열 길이")
+                .register(meterRegistry);
+        Gauge.builder("password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+        this.hashTimer = Timer.builder("password.hashing.duration")
+                .description("비밀번호 해시 연산 시간")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("password.hashing.wait")
+                .description("비밀번호 해시 대기열 대기 시간")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("password.hashing.rejected")
+                .register(meterRegistry);
+    }
+
+    public <T> T execute(Callable<T> task) {
+        long enqueuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                waitTimer.record(startedAt - enqueuedAt, TimeUnit.NANOSECONDS);
+                // 호출자가 이미 포기한 작업은 해시하지 않는다.
+                if (startedAt - enqueuedAt >= deadlineNanos) {
+                    throw new PasswordHashingRejectedException("Password hashing deadline exceeded",
+                            retryAfterSeconds);
+                }
+                try {
+                    return task.call();
+                } finally {
+                    hashTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            throw reject("Password hashing queue is full");
+        }
+
+        try {
+            return future.get(deadlineNanos - (System.nanoTime() - enqueuedAt), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(false);
+            throw reject("Password hashing deadline exceeded");
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw reject("Interrupted while waiting for password hashing");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof PasswordHashingRejectedException rejected) {
+                rejectedCounter.increment();
+                throw rejected;
+            }
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    public int queueSize() {
+        return executor.getQueue().size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private PasswordHashingRejectedException reject(String message) {
+        rejectedCounter.increment();
+        log.warn("{} (queue = {}, active = {})", message, executor.getQueue().size(), executor.getActiveCount());
+        return new PasswordHashingRejectedException(message, retryAfterSeconds);
+    }
+
+    private static ThreadFactory threadFactory() {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "password-hashing-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,41 @@
+package org.fortishop.edgeservice.auth.password;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@ConfigurationProperties(prefix = "password-hashing")
+public class PasswordHashingProperties {
+    private int threads;                            // 0 이면 CPU 코어 수
+    private int queueCapacity;                      // 0 이면 threads * 4
+    private Duration deadline = Duration.ofSeconds(2);
+    private int retryAfterSeconds = 1;
+
+    private String algorithm = PasswordEncoders.BCRYPT;  // 새로 저장하는 해시의 알고리즘 (bcrypt | argon2)
+    private int bcryptStrength = 10;
+    private Argon2 argon2 = new Argon2();
+
+    public int resolveThreads() {
+        return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+
+    public int resolveQueueCapacity() {
+        return queueCapacity > 0 ? queueCapacity : resolveThreads() * 4;
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    public static class Argon2 {
+        private int saltLength = 16;
+        private int hashLength = 32;
+        private int parallelism = 1;
+        private int memory = 1 << 14;               // KiB
+        private int iterations = 2;
+    }
+}
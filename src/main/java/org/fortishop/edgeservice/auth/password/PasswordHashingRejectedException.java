@@ -0,0 +1,19 @@
+package org.fortishop.edgeservice.auth.password;
+
+import lombok.Getter;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
+
+/**
+ * 비밀번호 해시 전용 풀이 포화되었거나 대기 시간이 deadline 을 넘긴 경우. 503 + Retry-After 로 응답한다.
+ * <p>
+ * ProviderManager 가 다른 provider 로 재시도하지 않도록 InternalAuthenticationServiceException 을 상속한다.
+ */
+@Getter
+public class PasswordHashingRejectedException extends InternalAuthenticationServiceException {
+    private final int retryAfterSeconds;
+
+    public PasswordHashingRejectedException(String message, int retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
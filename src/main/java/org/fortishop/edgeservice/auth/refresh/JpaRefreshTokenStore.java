@@ -0,0 +1,99 @@
+package org.fortishop.edgeservice.auth.refresh;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.fortishop.edgeservice.auth.jwt.TokenDigest;
+import org.fortishop.edgeservice.domain.Member;
+import org.fortishop.edgeservice.domain.RefreshToken;
+import org.fortishop.edgeservice.repository.MemberRepository;
+import org.fortishop.edgeservice.repository.RefreshTokenRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * RefreshToken 테이블 기반 저장소 (jwt.refresh-token-store=jpa). 회원당 한 행만 두므로 기기 구분 없이 마지막 로그인만 유효하다.
+ */
+@Component
+@ConditionalOnProperty(name = "jwt.refresh-token-store", havingValue = "jpa")
+@RequiredArgsConstructor
+public class JpaRefreshTokenStore implements RefreshTokenStore {
+    private final MemberRepository memberRepository;
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    @Override
+    @Transactional
+    public void save(Long memberId, String deviceId, String refreshToken, Duration ttl) {
+        Member member = memberRepository.getReferenceById(memberId);
+        String hash = TokenDigest.of(refreshToken).toHex();
+        LocalDateTime expiresAt = LocalDateTime.now().plus(ttl);
+        refreshTokenRepository.findByMember(member)
+                .ifPresentOrElse(
+                        existing -> existing.updateToken(hash, expiresAt),
+                        () -> refreshTokenRepository.save(RefreshToken.builder()
+                                .member(member)
+                                .token(hash)
+                                .expiresAt(expiresAt)
+                                .build())
+                );
+    }
+
+    /**
+     * 회원별로 합쳐진 저장 요청을 한 트랜잭션에서 반영한다.
+     */
+    @Transactional
+    public void saveAll(Map<Long, RefreshTokenWrite> writes) {
+        Map<Long, RefreshToken> existing = refreshTokenRepository.findAllByMemberIdIn(writes.keySet()).stream()
+                .collect(Collectors.toMap(token -> token.getMember().getId(), Function.identity()));
+        List<RefreshToken> created = new ArrayList<>();
+        writes.forEach((memberId, write) -> {
+            RefreshToken token = existing.get(memberId);
+            if (token != null) {
+                token.updateToken(write.tokenHash(), write.expiresAt());
+            } else {
+                created.add(RefreshToken.builder()
+                        .member(memberRepository.getReferenceById(memberId))
+                        .token(write.tokenHash())
+                        .expiresAt(write.expiresAt())
+                        .build());
+            }
+        });
+        refreshTokenRepository.saveAll(created);
+    }
+
+    @Override
+    @Transactional
+    public Rotation rotate(Long memberId, String deviceId, String presentedToken, String newToken, Duration ttl) {
+        RefreshToken stored = refreshTokenRepository.findByMember(memberRepository.getReferenceById(memberId))
+                .filter(token -> token.getExpiresAt().isAfter(LocalDateTime.now()))
+                .orElse(null);
+        if (stored == null) {
+            return Rotation.NOT_FOUND;
+        }
+        // 해시 저장 이전의 원문 행도 한 번 받아 주고, 아래 updateToken 으로 해시로 바꿔 쓴다.
+        if (!stored.getToken().equals(TokenDigest.of(presentedToken).toHex())
+                && !LegacyRefreshTokens.matchesRaw(stored, presentedToken)) {
+            return Rotation.MISMATCH;
+        }
+        stored.updateToken(TokenDigest.of(newToken).toHex(), LocalDateTime.now().plus(ttl));
+        return Rotation.ROTATED;
+    }
+
+    @Override
+    @Transactional
+    public void delete(Long memberId, String deviceId) {
+        deleteAll(memberId);
+    }
+
+    @Override
+    @Transactional
+    public void deleteAll(Long memberId) {
+        refreshTokenRepository.deleteByMember(memberRepository.getReferenceById(memberId));
+    }
+}
@@ -0,0 +1,53 @@
+package org.fortishop.edgeservice.auth.refresh;
+
+import java.time.LocalDateTime;
+import lombok.RequiredArgsConstructor;
+import org.fortishop.edgeservice.domain.RefreshToken;
+import org.fortishop.edgeservice.repository.MemberRepository;
+import org.fortishop.edgeservice.repository.RefreshTokenRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 해시 저장 이전에 RefreshToken 테이블에 원문으로 저장된 토큰을 재발급 시 한 번만 받아 주는 이전(migration) 경로.
+ * <p>
+ * 배포 전에 로그인한 회원이 강제로 로그아웃되지 않도록, 저장된 값이 제시된 토큰 원문과 같으면 유효한 것으로 보고 그 행을 소비한다.
+ * 원문 행은 RefreshToken 유효기간이 지나면 모두 만료되므로, 배포 후 그 기간이 지나면 이 클래스는 지워도 된다.
+ */
+@Component
+@RequiredArgsConstructor
+public class LegacyRefreshTokens {
+    private final MemberRepository memberRepository;
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    /**
+     * 저장된 값이 원문 토큰과 같은지 확인한다.
+     */
+    public static boolean matchesRaw(RefreshToken stored, String presentedToken) {
+        return stored.getToken().equals(presentedToken);
+    }
+
+    /**
+     * 만료되지 않은 원문 행이 제시된 토큰과 같으면 지우고 true 를 반환한다. 같은 토큰으로 두 번 받을 수 없다.
+     */
+    @Transactional
+    public boolean consume(Long memberId, String presentedToken) {
+        RefreshToken stored = refreshTokenRepository.findByMember(memberRepository.getReferenceById(memberId))
+                .filter(token -> token.getExpiresAt().isAfter(LocalDateTime.now()))
+                .filter(token -> matchesRaw(token, presentedToken))
+                .orElse(null);
+        if (stored == null) {
+            return false;
+        }
+        refreshTokenRepository.delete(stored);
+        return true;
+    }
+
+    /**
+     * 로그아웃 시 남아 있는 원문 행도 지워, 로그아웃한 토큰이 이 경로로 다시 받아지지 않게 한다.
+     */
+    @Transactional
+    public void revoke(Long memberId) {
+        refreshTokenRepository.deleteByMember(memberRepository.getReferenceById(memberId));
+    }
+}
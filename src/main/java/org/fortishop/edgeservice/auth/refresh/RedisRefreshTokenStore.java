@@ -0,0 +1,90 @@
+package org.fortishop.edgeservice.auth.refresh;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.fortishop.edgeservice.auth.jwt.TokenDigest;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+/**
+ * Redis 기반 RefreshToken 저장소.
+ * <p>
+ * "rt:{memberId}:{deviceId}" 에 토큰 해시를 RefreshToken 유효기간만큼 PX 로 저장하고, "rt:{memberId}" 에 기기 목록을 둔다.
+ * 같은 회원의 키는 hash tag 로 같은 슬롯에 모이므로 교체는 Lua 스크립트 하나로 원자적으로 수행된다.
+ * <p>
+ * Redis 에 없는 토큰은 배포 전에 RefreshToken 테이블에 원문으로 저장된 것일 수 있으므로 {@link LegacyRefreshTokens} 로 한 번 확인하고,
+ * 맞으면 그 행을 지우고 새 토큰의 해시를 Redis 에 저장한다.
+ */
+@Component
+@ConditionalOnProperty(name = "jwt.refresh-token-store", havingValue = "redis", matchIfMissing = true)
+@RequiredArgsConstructor
+public class RedisRefreshTokenStore implements RefreshTokenStore {
+    private static final RedisScript<Long> SAVE_SCRIPT = script("scripts/refresh-token-save.lua");
+    private static final RedisScript<Long> ROTATE_SCRIPT = script("scripts/refresh-token-rotate.lua");
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final LegacyRefreshTokens legacyRefreshTokens;
+
+    @Override
+    public void save(Long memberId, String deviceId, String refreshToken, Duration ttl) {
+        stringRedisTemplate.execute(SAVE_SCRIPT, List.of(tokenKey(memberId, deviceId), deviceKey(memberId)),
+                hash(refreshToken), deviceId, String.valueOf(ttl.toMillis()));
+    }
+
+    @Override
+    public Rotation rotate(Long memberId, String deviceId, String presentedToken, String newToken, Duration ttl) {
+        Long result = stringRedisTemplate.execute(ROTATE_SCRIPT,
+                List.of(tokenKey(memberId, deviceId), deviceKey(memberId)),
+                hash(presentedToken), hash(newToken), String.valueOf(ttl.toMillis()));
+        if (result == null || result == 0L) {
+            if (!legacyRefreshTokens.consume(memberId, presentedToken)) {
+                return Rotation.NOT_FOUND;
+            }
+            save(memberId, deviceId, newToken, ttl);
+            return Rotation.ROTATED;
+        }
+        return result > 0 ? Rotation.ROTATED : Rotation.MISMATCH;
+    }
+
+    @Override
+    public void delete(Long memberId, String deviceId) {
+        stringRedisTemplate.delete(tokenKey(memberId, deviceId));
+        stringRedisTemplate.opsForSet().remove(deviceKey(memberId), deviceId);
+        legacyRefreshTokens.revoke(memberId);
+    }
+
+    @Override
+    public void deleteAll(Long memberId) {
+        Set<String> deviceIds = stringRedisTemplate.opsForSet().members(deviceKey(memberId));
+        if (deviceIds != null && !deviceIds.isEmpty()) {
+            stringRedisTemplate.delete(deviceIds.stream().map(deviceId -> tokenKey(memberId, deviceId)).toList());
+        }
+        stringRedisTemplate.delete(deviceKey(memberId));
+        legacyRefreshTokens.revoke(memberId);
+    }
+
+    private static String tokenKey(Long memberId, String deviceId) {
+        return "rt:{" + memberId + "}:" + deviceId;
+    }
+
+    private static String deviceKey(Long memberId) {
+        return "rt:{" + memberId + "}";
+    }
+
+    private static String hash(String refreshToken) {
+        return TokenDigest.of(refreshToken).toHex();
+    }
+
+    private static RedisScript<Long> script(String path) {
+        DefaultRedisScript<Long> script = new DefaultRedisScript<>();
+        script.setLocation(new ClassPathResource(path));
+        script.setResultType(Long.class);
+        return script;
+    }
+}
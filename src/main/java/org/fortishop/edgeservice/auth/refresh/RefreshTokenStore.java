@@ -0,0 +1,27 @@
+package org.fortishop.edgeservice.auth.refresh;
+
+import java.time.Duration;
+
+/**
+ * 회원 + 기기 단위로 현재 유효한 RefreshToken 을 보관하는 저장소. 토큰 원문 대신 해시만 저장한다.
+ */
+public interface RefreshTokenStore {
+    String DEFAULT_DEVICE_ID = "default";
+
+    void save(Long memberId, String deviceId, String refreshToken, Duration ttl);
+
+    /**
+     * 저장된 토큰이 presentedToken 과 일치할 때만 newToken 으로 교체한다.
+     */
+    Rotation rotate(Long memberId, String deviceId, String presentedToken, String newToken, Duration ttl);
+
+    void delete(Long memberId, String deviceId);
+
+    void deleteAll(Long memberId);
+
+    enum Rotation {
+        ROTATED,
+        NOT_FOUND,
+        MISMATCH
+    }
+}
@@ -0,0 +1,6 @@
+package org.fortishop.edgeservice.auth.refresh;
+
+import java.time.LocalDateTime;
+
+public record RefreshTokenWrite(String tokenHash, LocalDateTime expiresAt) {
+}
@@ -0,0 +1,244 @@
+package org.fortishop.edgeservice.auth.refresh;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.fortishop.edgeservice.auth.jwt.JwtProperties;
+import org.fortishop.edgeservice.auth.jwt.TokenDigest;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+/**
+ * 로그인 시 RefreshToken 저장을 Redis 대기열("rtq:{pending}" hash)에 회원 단위로 합쳐 두었다가 주기적으로 한 트랜잭션에 반영하는 JPA 저장소 앞단.
+ * <p>
+ * 대기열이 Redis 에 있으므로 노드가 죽거나 재배포되어도 반영 전 토큰이 사라지지 않고, 어느 노드의 재발급 / 로그아웃에서도 바로 보인다.
+ * 로그아웃은 대기열에 삭제 표시("-")를 남기고 반영 시 DB 에서 지운다. 반영은 커밋 후 그 사이 바뀌지 않은 항목만 대기열에서 지운다.
+ * <p>
+ * 반영은 flush lock 을 잡은 노드 하나만 한다. 오래된 스냅샷이 더 새 값을 덮어쓰지 않게 하기 위해서다.
+ * 반영에 실패한 값은 버리지 않고 대기열에 남겨 다음 주기에 다시 쓰며, 계속 실패하면 error 로그와 실패 카운터로 알린다.
+ * 대기열이 MAX_PENDING 에 차거나 Redis 를 쓸 수 없으면 바로 DB 에 쓴다.
+ */
+@Slf4j
+@Primary
+@Component
+@ConditionalOnProperty(name = "jwt.refresh-token-store", havingValue = "jpa")
+public class WriteBehindRefreshTokenStore implements RefreshTokenStore {
+    static final String PENDING_KEY = "rtq:{pending}";
+    static final String LOCK_KEY = "rtq:{pending}:lock";
+    static final int MAX_PENDING = 10_000;
+    private static final String DELETED = "-";
+    private static final int ALERT_AFTER_ATTEMPTS = 3;
+    private static final Duration FLUSH_LOCK_TTL = Duration.ofSeconds(30);
+    private static final RedisScript<Long> SAVE_SCRIPT = script("scripts/refresh-token-queue-save.lua");
+    private static final RedisScript<Long> ROTATE_SCRIPT = script("scripts/refresh-token-queue-rotate.lua");
+    private static final RedisScript<Long> ACK_SCRIPT = script("scripts/refresh-token-queue-ack.lua");
+    private static final RedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end return 0",
+            Long.class);
+
+    private final JpaRefreshTokenStore delegate;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final Counter writeFailures;
+    private final Map<Long, Integer> failedAttempts = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "refresh-token-write-behind");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public WriteBehindRefreshTokenStore(JpaRefreshTokenStore delegate, StringRedisTemplate stringRedisTemplate,
+                                        JwtProperties jwtProperties, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.writeFailures = Counter.builder("refreshtoken.writebehind.failures")
+                .description("Refresh token writes that failed to reach the database and stay queued")
+                .register(meterRegistry);
+        long interval = jwtProperties.getRefreshTokenFlushInterval().toMillis();
+        flusher.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void save(Long memberId, String deviceId, String refreshToken, Duration ttl) {
+        try {
+            Long queued = stringRedisTemplate.execute(SAVE_SCRIPT, List.of(PENDING_KEY),
+                    String.valueOf(memberId), value(refreshToken, ttl), String.valueOf(MAX_PENDING));
+            if (queued != null && queued == 1L) {
+                return;
+            }
+        } catch (DataAccessException e) {
+            log.warn("Failed to queue refresh token of member {}. Write through", memberId, e);
+        }
+        delegate.save(memberId, deviceId, refreshToken, ttl);
+    }
+
+    @Override
+    public Rotation rotate(Long memberId, String deviceId, String presentedToken, String newToken, Duration ttl) {
+        Long result;
+        try {
+            result = stringRedisTemplate.execute(ROTATE_SCRIPT, List.of(PENDING_KEY), String.valueOf(memberId),
+                    TokenDigest.of(presentedToken).toHex(), value(newToken, ttl),
+                    String.valueOf(System.currentTimeMillis()));
+        } catch (DataAccessException e) {
+            log.warn("Failed to read refresh token queue of member {}. Fall back to DB", memberId, e);
+            result = null;
+        }
+        if (result == null || result == 0L) {
+            return delegate.rotate(memberId, deviceId, presentedToken, newToken, ttl);
+        }
+        if (result == 1L) {
+            return Rotation.ROTATED;
+        }
+        return result == -1L ? Rotation.MISMATCH : Rotation.NOT_FOUND;
+    }
+
+    @Override
+    public void delete(Long memberId, String deviceId) {
+        deleteAll(memberId);
+    }
+
+    @Override
+    public void deleteAll(Long memberId) {
+        // 진행 중인 반영이 스냅샷의 값을 쓰더라도 삭제 표시가 남아 있으므로 다음 반영에서 지워지고, 그 사이 재발급도 막힌다.
+        try {
+            stringRedisTemplate.opsForHash().put(PENDING_KEY, String.valueOf(memberId), DELETED);
+        } catch (DataAccessException e) {
+            log.warn("Failed to queue refresh token delete of member {}. Delete through", memberId, e);
+            delegate.deleteAll(memberId);
+        }
+    }
+
+    public void flush() {
+        String lockToken = UUID.randomUUID().toString();
+        try {
+            if (!Boolean.TRUE.equals(
+                    stringRedisTemplate.opsForValue().setIfAbsent(LOCK_KEY, lockToken, FLUSH_LOCK_TTL))) {
+                return;
+            }
+        } catch (DataAccessException e) {
+            log.warn("Failed to take refresh token flush lock", e);
+            return;
+        }
+        try {
+            Map<String, String> snapshot = stringRedisTemplate.<String, String>opsForHash().entries(PENDING_KEY);
+            if (!snapshot.isEmpty()) {
+                flushSnapshot(snapshot);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Failed to flush refresh token queue", e);
+        } finally {
+            try {
+                stringRedisTemplate.execute(UNLOCK_SCRIPT, List.of(LOCK_KEY), lockToken);
+            } catch (DataAccessException e) {
+                log.warn("Failed to release refresh token flush lock", e);
+            }
+        }
+    }
+
+    private void flushSnapshot(Map<String, String> snapshot) {
+        Map<Long, RefreshTokenWrite> writes = new HashMap<>();
+        List<String> applied = new ArrayList<>();
+        snapshot.forEach((member, value) -> {
+            Long memberId = Long.valueOf(member);
+            if (DELETED.equals(value)) {
+                if (apply(memberId, () -> delegate.deleteAll(memberId))) {
+                    applied.add(member);
+                    applied.add(value);
+                }
+            } else {
+                writes.put(memberId, parse(value));
+            }
+        });
+
+        if (writes.size() > 1) {
+            try {
+                delegate.saveAll(writes);
+                writes.keySet().forEach(failedAttempts::remove);
+                writes.keySet().forEach(memberId -> {
+                    applied.add(String.valueOf(memberId));
+                    applied.add(snapshot.get(String.valueOf(memberId)));
+                });
+                writes.clear();
+            } catch (RuntimeException e) {
+                log.warn("Failed to flush {} refresh tokens. Retry one by one", writes.size(), e);
+            }
+        }
+        // 한 행의 실패가 배치 전체를 막지 않도록 회원별로 다시 쓴다.
+        writes.forEach((memberId, write) -> {
+            if (apply(memberId, () -> delegate.saveAll(Map.of(memberId, write)))) {
+                applied.add(String.valueOf(memberId));
+                applied.add(snapshot.get(String.valueOf(memberId)));
+            }
+        });
+
+        if (!applied.isEmpty()) {
+            stringRedisTemplate.execute(ACK_SCRIPT, List.of(PENDING_KEY), applied.toArray());
+            log.debug("Flushed {} refresh token changes", applied.size() / 2);
+        }
+    }
+
+    // 실패한 값은 대기열에 남긴다. 계속 실패하면 로그아웃된 것처럼 보이기 전에 알 수 있도록 error 로 남긴다.
+    private boolean apply(Long memberId, Runnable change) {
+        try {
+            change.run();
+            failedAttempts.remove(memberId);
+            return true;
+        } catch (RuntimeException e) {
+            writeFailures.increment();
+            int attempts = failedAttempts.merge(memberId, 1, Integer::sum);
+            if (attempts < ALERT_AFTER_ATTEMPTS) {
+                log.warn("Failed to flush refresh token of member {} ({} attempts)", memberId, attempts, e);
+            } else {
+                log.error("Refresh token of member {} still not persisted after {} attempts", memberId, attempts, e);
+            }
+            return false;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String value(String refreshToken, Duration ttl) {
+        return TokenDigest.of(refreshToken).toHex() + ":" + (System.currentTimeMillis() + ttl.toMillis());
+    }
+
+    private static RefreshTokenWrite parse(String value) {
+        int separator = value.indexOf(':');
+        long expiresAt = Long.parseLong(value.substring(separator + 1));
+        return new RefreshTokenWrite(value.substring(0, separator),
+                LocalDateTime.ofInstant(Instant.ofEpochMilli(expiresAt), ZoneId.systemDefault()));
+    }
+
+    private static RedisScript<Long> script(String path) {
+        DefaultRedisScript<Long> script = new DefaultRedisScript<>();
+        script.setLocation(new ClassPathResource(path));
+        script.setResultType(Long.class);
+        return script;
+    }
+}
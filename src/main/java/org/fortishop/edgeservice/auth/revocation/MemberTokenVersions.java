@@ -0,0 +1,110 @@
+package org.fortishop.edgeservice.auth.revocation;
+
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+/**
+ * 회원별 토큰 버전. 버전을 올리면 그보다 낮은 "ver" 클레임을 가진 모든 토큰이 폐기된다 (전체 기기 로그아웃).
+ * <p>
+ * 원본은 Redis "tv:{memberId}" 에 있고, 각 노드는 일정 시간 로컬에 캐시한다. 버전 변경은 pub/sub 으로 즉시 전파된다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MemberTokenVersions implements MessageListener {
+    public static final String VERSION_CLAIM = "ver";
+    public static final String VERSION_CHANNEL = "auth:token-version";
+    private static final String KEY_PREFIX = "tv:";
+    private static final long CACHE_TTL_MILLIS = 30_000L;
+    private static final int MAX_CACHED_MEMBERS = 100_000;
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    private final Map<Long, CachedVersion> versions = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(VERSION_CHANNEL));
+    }
+
+    public long current(Long memberId) {
+        long now = System.currentTimeMillis();
+        CachedVersion cached = versions.get(memberId);
+        if (cached != null && now - cached.loadedAt() < CACHE_TTL_MILLIS) {
+            return cached.version();
+        }
+
+        try {
+            String value = stringRedisTemplate.opsForValue().get(KEY_PREFIX + memberId);
+            long version = value != null ? Long.parseLong(value) : 0L;
+            cache(memberId, version, now);
+            return version;
+        } catch (DataAccessException e) {
+            log.warn("Failed to load token version of member {}. Using cached value", memberId, e);
+            return cached != null ? cached.version() : 0L;
+        }
+    }
+
+    public boolean isRevoked(Claims claims) {
+        Object memberId = claims.get("memberId");
+        if (memberId == null) {
+            return false;
+        }
+        return versionOf(claims) < current(((Number) memberId).longValue());
+    }
+
+    public long versionOf(Claims claims) {
+        Object version = claims.get(VERSION_CLAIM);
+        return version != null ? ((Number) version).longValue() : 0L;
+    }
+
+    /**
+     * 회원의 모든 AccessToken / RefreshToken 을 폐기한다.
+     */
+    public void revokeAll(Long memberId) {
+        Long version = stringRedisTemplate.opsForValue().increment(KEY_PREFIX + memberId);
+        if (version == null) {
+            return;
+        }
+        cache(memberId, version, System.currentTimeMillis());
+        stringRedisTemplate.convertAndSend(VERSION_CHANNEL, memberId + ":" + version);
+        log.info("All tokens of member {} revoked. token version = {}", memberId, version);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(":");
+        if (parts.length != 2) {
+            log.warn("Ignore malformed token version message");
+            return;
+        }
+        cache(Long.parseLong(parts[0]), Long.parseLong(parts[1]), System.currentTimeMillis());
+    }
+
+    private void cache(Long memberId, long version, long now) {
+        if (versions.size() >= MAX_CACHED_MEMBERS) {
+            versions.values().removeIf(cached -> now - cached.loadedAt() >= CACHE_TTL_MILLIS);
+            if (versions.size() >= MAX_CACHED_MEMBERS) {
+                versions.clear();
+            }
+        }
+        versions.merge(memberId, new CachedVersion(version, now),
+                (old, loaded) -> old.version() > loaded.version() ? new CachedVersion(old.version(), now) : loaded);
+    }
+
+    private record CachedVersion(long version, long loadedAt) {
+    }
+}
@@ -0,0 +1,136 @@
+package org.fortishop.edgeservice.auth.revocation;
+
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.fortishop.edgeservice.auth.jwt.JwtProperties;
+import org.fortishop.edgeservice.auth.jwt.TokenDigest;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.connection.SubscriptionListener;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+/**
+ * 로그아웃된 AccessToken 블랙리스트의 로컬 near-cache.
+ * <p>
+ * 토큰은 jti(없으면 토큰 해시)로 만든 128bit 식별자로 구분하며, Redis 에는 "bl:" + 16바이트 바이너리 키로 저장한다.
+ * 폐기 이벤트는 Redis pub/sub 으로 모든 노드에 전파된다. 구독 후 AccessToken 유효기간이 지나면 그 이전에 폐기된 토큰은 모두 만료되었으므로,
+ * 로컬에 없는 토큰은 Redis 조회 없이 "폐기되지 않음"으로 판단한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TokenBlacklist implements MessageListener, SubscriptionListener {
+    public static final String REVOKED_CHANNEL = "auth:token-revoked";
+    private static final byte[] KEY_PREFIX = "bl:".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] REVOKED_VALUE = {'1'};
+    private static final int PURGE_THRESHOLD = 1_024;
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final JwtProperties jwtProperties;
+
+    private final Map<TokenDigest, Long> revoked = new ConcurrentHashMap<>();
+    private volatile long subscribedAt;
+
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(REVOKED_CHANNEL));
+    }
+
+    public void revoke(Claims claims, String accessToken) {
+        long now = System.currentTimeMillis();
+        Date expiration = claims.getExpiration();
+        long expiresAt = expiration != null ? expiration.getTime() : now + jwtProperties.getAccessTokenValidity();
+        if (expiresAt <= now) {
+            return;
+        }
+
+        TokenDigest digest = revocationId(claims, accessToken);
+        byte[] key = redisKey(digest);
+        long ttlMillis = expiresAt - now;
+        stringRedisTemplate.execute((RedisCallback<Boolean>) connection -> connection.stringCommands()
+                .set(key, REVOKED_VALUE, Expiration.milliseconds(ttlMillis), SetOption.upsert()));
+
+        remember(digest, expiresAt);
+        stringRedisTemplate.convertAndSend(REVOKED_CHANNEL,
+                digest.high() + ":" + digest.low() + ":" + expiresAt);
+    }
+
+    public boolean isRevoked(Claims claims, String accessToken) {
+        long now = System.currentTimeMillis();
+        TokenDigest digest = revocationId(claims, accessToken);
+        Long expiresAt = revoked.get(digest);
+        if (expiresAt != null) {
+            if (expiresAt > now) {
+                return true;
+            }
+            revoked.remove(digest, expiresAt);
+        }
+        if (isWarm(now)) {
+            return false;
+        }
+        byte[] key = redisKey(digest);
+        return Boolean.TRUE.equals(stringRedisTemplate.execute(
+                (RedisCallback<Boolean>) connection -> connection.keyCommands().exists(key)));
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(":");
+        if (parts.length != 3) {
+            log.warn("Ignore malformed token revocation message");
+            return;
+        }
+        remember(new TokenDigest(Long.parseLong(parts[0]), Long.parseLong(parts[1])), Long.parseLong(parts[2]));
+    }
+
+    @Override
+    public void onChannelSubscribed(byte[] channel, long count) {
+        this.subscribedAt = System.currentTimeMillis();
+        log.info("Subscribed to {}. Local blacklist becomes authoritative after {} ms",
+                REVOKED_CHANNEL, jwtProperties.getAccessTokenValidity());
+    }
+
+    @Override
+    public void onChannelUnsubscribed(byte[] channel, long count) {
+        this.subscribedAt = 0L;
+        log.warn("Unsubscribed from {}. Falling back to Redis lookups", REVOKED_CHANNEL);
+    }
+
+    private TokenDigest revocationId(Claims claims, String accessToken) {
+        String tokenId = claims.getId();
+        return tokenId != null ? TokenDigest.ofTokenId(tokenId) : TokenDigest.of(accessToken);
+    }
+
+    private byte[] redisKey(TokenDigest digest) {
+        byte[] key = new byte[KEY_PREFIX.length + 16];
+        System.arraycopy(KEY_PREFIX, 0, key, 0, KEY_PREFIX.length);
+        System.arraycopy(digest.toBytes(), 0, key, KEY_PREFIX.length, 16);
+        return key;
+    }
+
+    private boolean isWarm(long now) {
+        long since = subscribedAt;
+        return since > 0 && now - since >= jwtProperties.getAccessTokenValidity();
+    }
+
+    private void remember(TokenDigest digest, long expiresAt) {
+        revoked.merge(digest, expiresAt, Math::max);
+        if (revoked.size() > PURGE_THRESHOLD) {
+            long now = System.currentTimeMillis();
+            revoked.values().removeIf(expiry -> expiry <= now);
+        }
+    }
+}
@@ -31,4 +31,10 @@ public class AuthController {
         refreshTokenService.logout(refreshToken, accessToken);
         return Responder.success("로그아웃이 완료되었습니다.");
     }
+
+    @PatchMapping("/logout-all")
+    public ResponseEntity<String> logoutAll(HttpServletRequest request) {
+        refreshTokenService.logoutAll(jwtTokenProvider.resolveAccessToken(request));
+        return Responder.success("모든 기기에서 로그아웃이 완료되었습니다.");
+    }
 }
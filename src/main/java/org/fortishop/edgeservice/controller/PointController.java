@@ -1,15 +1,20 @@
 package org.fortishop.edgeservice.controller;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.fortishop.edgeservice.auth.PrincipalDetails;
+import org.fortishop.edgeservice.domain.PointChangeType;
 import org.fortishop.edgeservice.domain.PointSourceService;
 import org.fortishop.edgeservice.global.Responder;
 import org.fortishop.edgeservice.dto.request.PointAdjustRequest;
 import org.fortishop.edgeservice.dto.request.PointTransferRequest;
+import org.fortishop.edgeservice.dto.response.PointHistoryPageResponse;
 import org.fortishop.edgeservice.dto.response.PointHistoryResponse;
 import org.fortishop.edgeservice.dto.response.PointResponse;
 import org.fortishop.edgeservice.service.PointService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -18,6 +23,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -39,6 +45,18 @@ public class PointController {
         return Responder.success(pointService.getMyHistory(email));
     }
 
+    @GetMapping("/history/page")
+    public ResponseEntity<PointHistoryPageResponse> getMyHistoryPage(
+            @AuthenticationPrincipal PrincipalDetails principal,
+            @RequestParam(required = false, name = "cursor") String cursor,
+            @RequestParam(defaultValue = "20", name = "size") int size,
+            @RequestParam(required = false, name = "type") PointChangeType type,
+            @RequestParam(required = false, name = "from") @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false, name = "to") @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime to) {
+        String email = principal.getUsername();
+        return Responder.success(pointService.getMyHistory(email, cursor, size, type, from, to));
+    }
+
     @PostMapping("/transfer")
     public ResponseEntity<Void> transferPoint(@AuthenticationPrincipal PrincipalDetails principal,
                                               @RequestBody PointTransferRequest request) {
@@ -0,0 +1,41 @@
+package org.fortishop.edgeservice.dto.request;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import org.fortishop.edgeservice.dto.response.PointHistoryResponse;
+import org.springframework.util.StringUtils;
+
+/**
+ * 포인트 이력 keyset 페이지네이션 커서. 마지막으로 내려준 행의 (createdAt, id) 를 불투명한 문자열로 주고받는다.
+ */
+public record PointHistoryCursor(LocalDateTime createdAt, Long id) {
+    private static final String DELIMITER = "_";
+
+    public static PointHistoryCursor after(PointHistoryResponse last) {
+        return new PointHistoryCursor(last.getCreatedAt(), last.getId());
+    }
+
+    /**
+     * 비어 있으면 첫 페이지를 뜻하는 null 을 반환한다.
+     */
+    public static PointHistoryCursor decode(String cursor) {
+        if (!StringUtils.hasText(cursor)) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int index = decoded.lastIndexOf(DELIMITER);
+            return new PointHistoryCursor(LocalDateTime.parse(decoded.substring(0, index)),
+                    Long.parseLong(decoded.substring(index + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다.");
+        }
+    }
+
+    public String encode() {
+        String raw = createdAt + DELIMITER + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
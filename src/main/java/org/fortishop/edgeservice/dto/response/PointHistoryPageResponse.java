@@ -0,0 +1,16 @@
+package org.fortishop.edgeservice.dto.response;
+
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED, force = true)
+@AllArgsConstructor
+public class PointHistoryPageResponse {
+    private List<PointHistoryResponse> histories;
+    private String nextCursor;
+    private boolean hasNext;
+}
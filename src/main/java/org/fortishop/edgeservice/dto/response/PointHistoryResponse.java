@@ -12,6 +12,7 @@ import org.fortishop.edgeservice.domain.PointChangeType;
 @NoArgsConstructor(access = AccessLevel.PROTECTED, force = true)
 @AllArgsConstructor
 public class PointHistoryResponse {
+    private Long id;
     private PointChangeType type;
     private BigDecimal amount;
     private String description;
@@ -9,7 +9,8 @@ public enum TokenExceptionType implements BaseExceptionType {
     TOKEN_EXPIRED("T002", "토큰이 만료되었습니다.", HttpStatus.BAD_REQUEST),
     TOKEN_UNSUPPORTED("T003", "지원하지 않는 형식의 토큰입니다.", HttpStatus.BAD_REQUEST),
     REFRESH_TOKEN_NOT_FOUND("T004", "RefreshToken이 존재하지 않습니다.", HttpStatus.BAD_REQUEST),
-    TOKEN_MISMATCH("T005", "올바르지 않은 RefreshToken 입니다.", HttpStatus.BAD_REQUEST);
+    TOKEN_MISMATCH("T005", "올바르지 않은 RefreshToken 입니다.", HttpStatus.BAD_REQUEST),
+    TOKEN_REVOKED("T006", "폐기된 토큰입니다.", HttpStatus.BAD_REQUEST);
 
     private final String errorCode;
     private final String errorMessage;
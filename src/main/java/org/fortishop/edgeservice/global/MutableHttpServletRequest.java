@@ -1,50 +0,0 @@
-package org.fortishop.edgeservice.global;
-
-import jakarta.servlet.http.HttpServletRequest;
-import jakarta.servlet.http.HttpServletRequestWrapper;
-import java.util.Collections;
-import java.util.Enumeration;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
-
-public class MutableHttpServletRequest extends HttpServletRequestWrapper {
-
-    private final Map<String, String> customHeaders = new HashMap<>();
-
-    public MutableHttpServletRequest(HttpServletRequest request) {
-        super(request);
-    }
-
-    public void addHeader(String name, String value) {
-        customHeaders.put(name, value);
-    }
-
-    @Override
-    public String getHeader(String name) {
-        String headerValue = customHeaders.get(name);
-        if (headerValue != null) {
-            return headerValue;
-        }
-        return super.getHeader(name);
-    }
-
-    @Override
-    public Enumeration<String> getHeaderNames() {
-        Set<String> headerNames = new HashSet<>(customHeaders.keySet());
-        Enumeration<String> originalHeaderNames = super.getHeaderNames();
-        while (originalHeaderNames.hasMoreElements()) {
-            headerNames.add(originalHeaderNames.nextElement());
-        }
-        return Collections.enumeration(headerNames);
-    }
-
-    @Override
-    public Enumeration<String> getHeaders(String name) {
-        if (customHeaders.containsKey(name)) {
-            return Collections.enumeration(Collections.singletonList(customHeaders.get(name)));
-        }
-        return super.getHeaders(name);
-    }
-}
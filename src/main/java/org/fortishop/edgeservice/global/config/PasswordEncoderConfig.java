@@ -1,15 +1,20 @@
 package org.fortishop.edgeservice.global.config;
 
+import org.fortishop.edgeservice.auth.password.BulkheadPasswordEncoder;
+import org.fortishop.edgeservice.auth.password.PasswordEncoders;
+import org.fortishop.edgeservice.auth.password.PasswordHashingExecutor;
+import org.fortishop.edgeservice.auth.password.PasswordHashingProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 @Configuration
 public class PasswordEncoderConfig {
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties passwordHashingProperties,
+                                           PasswordHashingExecutor passwordHashingExecutor) {
+        return new BulkheadPasswordEncoder(PasswordEncoders.create(passwordHashingProperties),
+                passwordHashingExecutor);
     }
 }
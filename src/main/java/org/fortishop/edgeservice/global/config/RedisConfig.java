@@ -1,12 +1,17 @@
 package org.fortishop.edgeservice.global.config;
 
 import lombok.RequiredArgsConstructor;
+import org.fortishop.edgeservice.global.ratelimit.RateLimitProperties;
 import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.repository.configuration.EnableRedisRepositories;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
@@ -19,10 +24,24 @@ public class RedisConfig {
     private final RedisProperties redisProperties;
 
     @Bean
+    @Primary
     public RedisConnectionFactory redisConnectionFactory() {
         return new LettuceConnectionFactory(redisProperties.getHost(), redisProperties.getPort());
     }
 
+    /**
+     * rate limit 전용 연결. Redis 가 느려져도 요청 스레드가 오래 묶이지 않도록 명령 타임아웃을 짧게 둔다.
+     */
+    @Bean
+    public RedisConnectionFactory rateLimitRedisConnectionFactory(RateLimitProperties rateLimitProperties) {
+        LettuceClientConfiguration clientConfiguration = LettuceClientConfiguration.builder()
+                .commandTimeout(rateLimitProperties.getTimeout())
+                .build();
+        return new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(redisProperties.getHost(), redisProperties.getPort()),
+                clientConfiguration);
+    }
+
     @Bean
     public RedisTemplate<String, Object> redisTemplate() {
         RedisTemplate<String, Object> template = new RedisTemplate<>();
@@ -31,4 +50,11 @@ public class RedisConfig {
         template.setValueSerializer(new GenericJackson2JsonRedisSerializer());
         return template;
     }
+
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory redisConnectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        return container;
+    }
 }
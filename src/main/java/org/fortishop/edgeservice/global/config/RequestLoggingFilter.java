@@ -5,7 +5,9 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.fortishop.edgeservice.global.route.RouteClassifier;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
@@ -14,12 +16,16 @@ import org.springframework.web.filter.OncePerRequestFilter;
 @Slf4j
 @Component
 @Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
 public class RequestLoggingFilter extends OncePerRequestFilter {
+    private final RouteClassifier routeClassifier;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
-        log.warn("요청 IP: {}, URI: {}", request.getRemoteAddr(), request.getRequestURI());
+        if (routeClassifier.classify(request).logged()) {
+            log.warn("요청 IP: {}, URI: {}", request.getRemoteAddr(), request.getRequestURI());
+        }
         filterChain.doFilter(request, response);
     }
 }
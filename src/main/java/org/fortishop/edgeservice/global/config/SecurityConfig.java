@@ -4,13 +4,18 @@ import java.util.Arrays;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.fortishop.edgeservice.auth.PrincipalDetailsService;
+import org.fortishop.edgeservice.auth.attempt.LoginAttemptLimiter;
+import org.fortishop.edgeservice.auth.revocation.MemberTokenVersions;
+import org.fortishop.edgeservice.auth.revocation.TokenBlacklist;
 import org.fortishop.edgeservice.auth.filter.CustomAccessDeniedHandler;
 import org.fortishop.edgeservice.auth.filter.CustomAuthenticationEntryPoint;
 import org.fortishop.edgeservice.auth.filter.JwtAuthenticationFilter;
 import org.fortishop.edgeservice.auth.filter.JwtVerificationFilter;
 import org.fortishop.edgeservice.auth.jwt.JwtTokenProvider;
+import org.fortishop.edgeservice.domain.Role;
 import org.fortishop.edgeservice.global.filter.RateLimitingFilter;
-import org.fortishop.edgeservice.global.redis.RedisService;
+import org.fortishop.edgeservice.global.ratelimit.HotKeyEndpoint;
+import org.fortishop.edgeservice.global.route.RouteClassifier;
 import org.fortishop.edgeservice.service.RefreshTokenService;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
@@ -27,7 +32,6 @@ import org.springframework.security.config.annotation.web.configurers.HeadersCon
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
-import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -41,10 +45,13 @@ public class SecurityConfig {
     private final CustomAccessDeniedHandler customAccessDeniedHandler;
     private final CustomAuthenticationEntryPoint customAuthenticationEntryPoint;
     private final JwtTokenProvider jwtTokenProvider;
-    private final RedisService redisService;
+    private final TokenBlacklist tokenBlacklist;
+    private final MemberTokenVersions memberTokenVersions;
     private final RefreshTokenService refreshTokenService;
+    private final LoginAttemptLimiter loginAttemptLimiter;
     private final PrincipalDetailsService principalDetailsService;
     private final PasswordEncoder passwordEncoder;
+    private final RouteClassifier routeClassifier;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -60,16 +67,14 @@ public class SecurityConfig {
                         .accessDeniedHandler(customAccessDeniedHandler))
                 .with(new CustomFilterConfigurer(), Customizer.withDefaults())
                 .authorizeHttpRequests(authorizeRequests -> authorizeRequests
-                        .requestMatchers("/api/members/signup", "/api/members/check-nickname",
-                                "/api/members/check-email", "/api/auths/reissue", "/actuator/**")
+                        .requestMatchers(HotKeyEndpoint.PATH, HotKeyEndpoint.PATH + "/**")
+                        .hasAuthority(Role.ROLE_ADMIN.name())
+                        .requestMatchers(request -> routeClassifier.classify(request).isPublic())
                         .permitAll()
                         .anyRequest().authenticated())
                 .logout(logout -> logout.deleteCookies("JSESSIONID")
                         .logoutUrl("/auth/logout"));
 
-        http.addFilterBefore(new JwtVerificationFilter(jwtTokenProvider, redisService),
-                UsernamePasswordAuthenticationFilter.class);
-
         return http.build();
     }
 
@@ -110,8 +115,9 @@ public class SecurityConfig {
             builder.addFilterBefore(filter, JwtAuthenticationFilter.class);
             AuthenticationManager authenticationManager = builder.getSharedObject(AuthenticationManager.class);
             JwtAuthenticationFilter jwtAuthenticationFilter = new JwtAuthenticationFilter(authenticationManager,
-                    jwtTokenProvider, refreshTokenService);
-            JwtVerificationFilter jwtVerificationFilter = new JwtVerificationFilter(jwtTokenProvider, redisService);
+                    jwtTokenProvider, refreshTokenService, memberTokenVersions, loginAttemptLimiter);
+            JwtVerificationFilter jwtVerificationFilter = new JwtVerificationFilter(jwtTokenProvider, tokenBlacklist,
+                    memberTokenVersions, routeClassifier);
             jwtAuthenticationFilter.setFilterProcessesUrl("/api/auths/login");
             builder
                     .addFilter(jwtAuthenticationFilter)
@@ -125,7 +131,7 @@ public class SecurityConfig {
         FilterRegistrationBean<RateLimitingFilter> registration = new FilterRegistrationBean<>();
         registration.setFilter(rateLimitingFilter);
         registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
-        registration.addUrlPatterns("/api/*");
+        registration.addUrlPatterns("/*");
         return registration;
     }
 }
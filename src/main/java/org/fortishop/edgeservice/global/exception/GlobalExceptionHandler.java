@@ -1,8 +1,10 @@
 package org.fortishop.edgeservice.global.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.fortishop.edgeservice.auth.password.PasswordHashingRejectedException;
 import org.fortishop.edgeservice.global.ErrorResponse;
 import org.fortishop.edgeservice.global.Responder;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -35,6 +37,14 @@ public class GlobalExceptionHandler {
         return Responder.error("403", "접근이 거부되었습니다.", HttpStatus.FORBIDDEN);
     }
 
+    @ExceptionHandler(PasswordHashingRejectedException.class)
+    public ResponseEntity<ErrorResponse> handlePasswordHashingRejected(PasswordHashingRejectedException e) {
+        log.warn("PasswordHashingRejectedException: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(new ErrorResponse("503", "잠시 후 다시 시도해주세요."));
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ErrorResponse> handleIllegalArgument(IllegalArgumentException e) {
         log.warn("IllegalArgumentException: {}", e.getMessage());
@@ -1,19 +1,21 @@
 package org.fortishop.edgeservice.global.filter;
 
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.util.Collections;
 import lombok.RequiredArgsConstructor;
-import org.fortishop.edgeservice.auth.jwt.JwtProperties;
-import org.springframework.data.redis.core.StringRedisTemplate;
-import org.springframework.data.redis.core.script.RedisScript;
+import org.fortishop.edgeservice.auth.jwt.JwtTokenProvider;
+import org.fortishop.edgeservice.exception.Token.TokenException;
+import org.fortishop.edgeservice.global.ratelimit.HotKeyTracker;
+import org.fortishop.edgeservice.global.ratelimit.RateLimitDecision;
+import org.fortishop.edgeservice.global.ratelimit.RateLimitGuard;
+import org.fortishop.edgeservice.global.ratelimit.RateLimitPolicies;
+import org.fortishop.edgeservice.global.ratelimit.RateLimitPolicy;
+import org.fortishop.edgeservice.global.route.RouteClassifier;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
@@ -21,84 +23,79 @@ import org.springframework.web.filter.OncePerRequestFilter;
 @RequiredArgsConstructor
 public class RateLimitingFilter extends OncePerRequestFilter {
 
-    private final StringRedisTemplate redisTemplate;
-    private final JwtProperties jwtProperties;
+    private static final String RATE_LIMIT_LIMIT = "RateLimit-Limit";
+    private static final String RATE_LIMIT_REMAINING = "RateLimit-Remaining";
+    private static final String RATE_LIMIT_RESET = "RateLimit-Reset";
 
-    private static final int CAPACITY = 5;          // 최대 버킷 크기
-    private static final int REFILL_RATE = 5;      // 초당 토큰 생성 수
+    private final RateLimitGuard rateLimitGuard;
+    private final RateLimitPolicies rateLimitPolicies;
+    private final HotKeyTracker hotKeyTracker;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final RouteClassifier routeClassifier;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
 
-        String key = resolveRateLimitKey(request);
-        String redisKey = "tokenbucket:" + key;
-        long now = System.currentTimeMillis();
-
-        String luaScript = """
-                    local bucket = redis.call('HMGET', KEYS[1], 'tokens', 'last_refill')
-                    local tokens = tonumber(bucket[1])
-                    local last_refill = tonumber(bucket[2])
-                    local now = tonumber(ARGV[1])
-                    local capacity = tonumber(ARGV[2])
-                    local refill_rate = tonumber(ARGV[3])
-
-                    if tokens == nil then
-                        tokens = capacity
-                        last_refill = now
-                    end
-
-                    local elapsed = math.max(0, now - last_refill)
-                    local refill = math.floor(elapsed / 1000 * refill_rate)
-                    tokens = math.min(capacity, tokens + refill)
-
-                    if tokens < 1 then
-                        return 0
-                    else
-                        tokens = tokens - 1
-                        redis.call('HMSET', KEYS[1], 'tokens', tokens, 'last_refill', now)
-                        return 1
-                    end
-                """;
-
-        Long allowed = redisTemplate.execute(
-                RedisScript.of(luaScript, Long.class),
-                Collections.singletonList(redisKey),
-                String.valueOf(now), String.valueOf(CAPACITY), String.valueOf(REFILL_RATE)
-        );
-
-        if (allowed == null || allowed == 0L) {
-            response.setStatus(429);
-            response.getWriter().write("Too Many Requests");
+        Claims claims = resolveClaims(request);
+        RateLimitPolicy policy = rateLimitPolicies.resolve(request, resolveRole(claims));
+
+        String key = resolveRateLimitKey(request, claims);
+        String bucketKey = policy.bucketKey(key);
+        if (hotKeyTracker.isHot(bucketKey)) {
+            // 계속 거절되고 있는 키는 Redis 에 묻지 않고 이 노드에서 거절한다. 감쇠되면 다시 Redis 가 판단하도록 sketch 에는 더하지 않는다.
+            hotKeyTracker.recordLocalRejection();
+            reject(response, hotKeyTracker.retryAfterSeconds());
+            return;
+        }
+
+        RateLimitDecision decision = rateLimitGuard.tryAcquire(key, policy);
+        if (decision.hasQuota()) {
+            response.setHeader(RATE_LIMIT_LIMIT, String.valueOf(policy.capacity()));
+            response.setHeader(RATE_LIMIT_REMAINING, String.valueOf(decision.remaining()));
+            response.setHeader(RATE_LIMIT_RESET, String.valueOf(decision.resetSeconds()));
+        }
+
+        if (!decision.allowed()) {
+            hotKeyTracker.recordRejection(bucketKey);
+            reject(response, decision.retryAfterSeconds());
             return;
         }
 
         filterChain.doFilter(request, response);
     }
 
-    private String resolveRateLimitKey(HttpServletRequest request) {
-        String token = request.getHeader("Authorization");
-        if (token != null && token.startsWith("Bearer ")) {
-            String accessToken = token.substring(7);
-            String memberId = extractMemberId(accessToken);
-            if (memberId != null) {
-                return "member:" + memberId;
-            }
+    private void reject(HttpServletResponse response, long retryAfterSeconds) throws IOException {
+        response.setStatus(429);
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.getWriter().write("Too Many Requests");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !routeClassifier.classify(request).isRateLimited();
+    }
+
+    private String resolveRateLimitKey(HttpServletRequest request, Claims claims) {
+        if (claims != null && claims.get("memberId") != null) {
+            return "member:" + claims.get("memberId");
         }
 
         String ip = request.getRemoteAddr();
         return "guest:" + (ip != null ? ip : "unknown");
     }
 
-    private String extractMemberId(String token) {
+    private String resolveRole(Claims claims) {
+        if (claims == null || claims.get("memberId") == null || claims.get("role") == null) {
+            return RateLimitPolicies.GUEST_ROLE;
+        }
+        return claims.get("role").toString();
+    }
+
+    private Claims resolveClaims(HttpServletRequest request) {
         try {
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(Keys.hmacShaKeyFor(jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8)))
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-            return claims.get("memberId", String.class);
-        } catch (Exception e) {
+            return jwtTokenProvider.resolveVerifiedClaims(request);
+        } catch (TokenException e) {
             return null;
         }
     }
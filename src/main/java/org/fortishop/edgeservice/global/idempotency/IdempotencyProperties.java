@@ -0,0 +1,17 @@
+package org.fortishop.edgeservice.global.idempotency;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@ConfigurationProperties(prefix = "idempotency")
+public class IdempotencyProperties {
+    private int localCacheSize = 10_000;            // 최근 처리한 transactionId 를 기억하는 로컬 LRU 크기
+    private Duration ttl = Duration.ofHours(24);    // 처리 완료(done) 표시 유지 시간
+    private Duration processingTtl = Duration.ofMinutes(1);    // 처리 중(processing) 표시 유지 시간. 한 건 처리 시간보다 길게
+}
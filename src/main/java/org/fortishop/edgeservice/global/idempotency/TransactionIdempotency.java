@@ -0,0 +1,129 @@
+package org.fortishop.edgeservice.global.idempotency;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+/**
+ * transactionId 중복 처리 방지. 로컬 LRU → Redis 순서로 확인하고, 최종 판단은 PointHistory.transactionId 유니크 제약이 한다.
+ * <p>
+ * Redis 키는 두 상태를 가진다. 처리 시작 시 짧은 TTL 의 "processing:&lt;owner token&gt;" 을 SET NX 로 잡고, 커밋 후에 "done" 으로 바꾼다.
+ * "done" 일 때만 DB 를 거치지 않고 중복으로 본다. 다른 요청이 처리 중이거나 Redis 를 쓸 수 없으면 그대로 진행해 유니크 제약이 판단하게 한다.
+ * 그래서 처리 도중 프로세스가 죽거나 release 가 실패해도 재전달된 이벤트가 버려지지 않는다.
+ */
+@Slf4j
+@Component
+public class TransactionIdempotency {
+    private static final String KEY_PREFIX = "idem:pt:";
+    private static final String PROCESSING_PREFIX = "processing:";
+    private static final String DONE = "done";
+    private static final int MYSQL_DUPLICATE_ENTRY = 1062;
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end return 0",
+            Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final Duration ttl;
+    private final Duration processingTtl;
+    private final Map<String, Boolean> recent;
+
+    public TransactionIdempotency(StringRedisTemplate stringRedisTemplate, IdempotencyProperties properties) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.ttl = properties.getTtl();
+        this.processingTtl = properties.getProcessingTtl();
+        int capacity = Math.max(1, properties.getLocalCacheSize());
+        this.recent = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > capacity;
+            }
+        });
+    }
+
+    /**
+     * 이미 커밋된 transactionId 면 done 을 돌려준다. 그 밖에는 처리를 진행하되, processing 표시를 잡았을 때만 owner token 을 담는다.
+     */
+    public Claim tryClaim(String transactionId) {
+        if (recent.containsKey(transactionId)) {
+            return Claim.DONE;
+        }
+        String key = KEY_PREFIX + transactionId;
+        String token = PROCESSING_PREFIX + UUID.randomUUID();
+        try {
+            if (Boolean.TRUE.equals(stringRedisTemplate.opsForValue().setIfAbsent(key, token, processingTtl))) {
+                return new Claim(false, token);
+            }
+            if (DONE.equals(stringRedisTemplate.opsForValue().get(key))) {
+                recent.put(transactionId, Boolean.TRUE);
+                return Claim.DONE;
+            }
+            // 다른 요청이 처리 중이다. 그 요청이 롤백될 수도 있으므로 유니크 제약에 맡긴다.
+            return Claim.UNOWNED;
+        } catch (DataAccessException e) {
+            log.warn("Failed to claim idempotency key. Fall back to DB. transactionId = {}", transactionId, e);
+            return Claim.UNOWNED;
+        }
+    }
+
+    /**
+     * 커밋됐거나 중복으로 확인된 transactionId 를 done 으로 기록한다.
+     */
+    public void confirm(String transactionId) {
+        recent.put(transactionId, Boolean.TRUE);
+        try {
+            stringRedisTemplate.opsForValue().set(KEY_PREFIX + transactionId, DONE, ttl);
+        } catch (DataAccessException e) {
+            log.warn("Failed to mark idempotency key done. transactionId = {}", transactionId, e);
+        }
+    }
+
+    /**
+     * 처리에 실패한 요청의 processing 표시를 지운다. 자신이 잡은 표시일 때만 지운다.
+     */
+    public void release(String transactionId, Claim claim) {
+        if (claim.token() == null) {
+            return;
+        }
+        try {
+            stringRedisTemplate.execute(RELEASE_SCRIPT, List.of(KEY_PREFIX + transactionId), claim.token());
+        } catch (DataAccessException e) {
+            // 지우지 못해도 processing 표시는 processingTtl 뒤에 사라지고, 그 전의 재시도는 DB 로 판단한다.
+            log.warn("Failed to release idempotency key. transactionId = {}", transactionId, e);
+        }
+    }
+
+    /**
+     * 유니크 제약 위반(MySQL 1062)이면 true.
+     */
+    public static boolean isDuplicateKey(DataAccessException e) {
+        if (e instanceof DuplicateKeyException) {
+            return true;
+        }
+        for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException && sqlException.getErrorCode() == MYSQL_DUPLICATE_ENTRY) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param done  이미 커밋된 transactionId 라 처리하지 않아도 되면 true
+     * @param token 이 요청이 잡은 processing 표시. 잡지 못했으면 null
+     */
+    public record Claim(boolean done, String token) {
+        static final Claim DONE = new Claim(true, null);
+        static final Claim UNOWNED = new Claim(false, null);
+    }
+}
@@ -0,0 +1,70 @@
+package org.fortishop.edgeservice.global.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 고정 크기(depth x width)의 count-min sketch. 추정값은 실제 횟수보다 작아지지 않는다.
+ */
+public class CountMinSketch {
+    private final int depth;
+    private final int width;
+    private final AtomicLongArray counters;
+
+    public CountMinSketch(int depth, int width) {
+        if (depth <= 0 || width <= 0) {
+            throw new IllegalArgumentException("Count-min sketch depth and width must be positive");
+        }
+        this.depth = depth;
+        this.width = width;
+        this.counters = new AtomicLongArray(depth * width);
+    }
+
+    /**
+     * key 의 횟수를 1 늘리고 늘어난 뒤의 추정값을 돌려준다.
+     */
+    public long increment(String key) {
+        int hash1 = key.hashCode();
+        int hash2 = mix(hash1);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.incrementAndGet(index(row, hash1, hash2)));
+        }
+        return estimate;
+    }
+
+    public long estimate(String key) {
+        int hash1 = key.hashCode();
+        int hash2 = mix(hash1);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.get(index(row, hash1, hash2)));
+        }
+        return estimate;
+    }
+
+    /**
+     * 모든 카운터를 절반으로 줄인다. 오래된 횟수의 영향이 윈도우마다 반씩 줄어든다.
+     */
+    public void decay() {
+        for (int i = 0; i < counters.length(); i++) {
+            long value;
+            do {
+                value = counters.get(i);
+            } while (value != 0 && !counters.compareAndSet(i, value, value >>> 1));
+        }
+    }
+
+    // Kirsch-Mitzenmacher: 두 해시의 선형 결합으로 행마다 다른 해시를 만든다.
+    private int index(int row, int hash1, int hash2) {
+        int combined = hash1 + row * hash2;
+        return row * width + Math.floorMod(combined, width);
+    }
+
+    private static int mix(int hash) {
+        int h = hash * 0x9E3779B9;
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        return h | 1;
+    }
+}
@@ -0,0 +1,24 @@
+package org.fortishop.edgeservice.global.ratelimit;
+
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * /actuator/ratelimit-hotkeys: 이 노드에서 rate limit 에 가장 많이 걸린 키 목록. 회원 id 와 IP 가 담기므로 ADMIN 만 조회할 수 있다.
+ */
+@Component
+@Endpoint(id = "ratelimit-hotkeys")
+@RequiredArgsConstructor
+public class HotKeyEndpoint {
+    public static final String PATH = "/actuator/ratelimit-hotkeys";
+
+    private final HotKeyTracker hotKeyTracker;
+
+    @ReadOperation
+    public List<HotKeyTracker.HotKey> hotKeys() {
+        return hotKeyTracker.hotKeys();
+    }
+}
@@ -0,0 +1,161 @@
+package org.fortishop.edgeservice.global.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 노드별로 rate limit 에 걸린 키를 count-min sketch 로 세고, 가장 많이 걸린 상위 K 개 키를 유지한다.
+ * <p>
+ * 횟수는 윈도우마다 절반으로 줄어든다. localRejectThreshold 가 설정되면 상위 K 개 안에서 추정값이 이를 넘은 키는 Redis 에 묻지 않고 바로 거절한다.
+ * <p>
+ * 로컬 거절은 sketch 에 더하지 않고 별도 카운터로만 센다. 그래야 요청 속도를 낮춘 키가 감쇠 후 다시 Redis 판단을 받는다.
+ * Redis 에서 실제로 거절된 키만 상위 K 에 들어가므로, sketch 의 과대 추정만으로 다른 키가 로컬 거절되지는 않는다.
+ * <p>
+ * 이미 상위 K 에 있는 키의 갱신은 lock 없이 하고, 새 후보를 넣을 때만 lock 을 잡는다. hot key 폭주 중의 거절은 대부분 앞의 경우다.
+ * 정렬된 목록(엔드포인트, 게이지용)은 요청 경로가 아니라 tick 에서 다시 만든다.
+ */
+@Component
+public class HotKeyTracker {
+    private final CountMinSketch sketch;
+    private final int topK;
+    private final long localRejectThreshold;
+    private final long windowSeconds;
+    private final long windowNanos;
+    private final Map<String, Long> topKeys = new ConcurrentHashMap<>();
+
+    private volatile long topKMinimum;
+    private volatile List<HotKey> snapshot = List.of();
+    private final Counter localRejections;
+    private long lastDecayAt = System.nanoTime();
+
+    public HotKeyTracker(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        RateLimitProperties.HotKey config = properties.getHotKey();
+        this.sketch = new CountMinSketch(config.getDepth(), config.getWidth());
+        this.topK = Math.max(1, config.getTopK());
+        this.localRejectThreshold = config.getLocalRejectThreshold();
+        this.windowSeconds = Math.max(1, config.getWindow().toSeconds());
+        this.windowNanos = config.getWindow().toNanos();
+
+        this.localRejections = Counter.builder("ratelimit.hotkey.local.rejections")
+                .description("hot key 로 판단되어 Redis 를 거치지 않고 거절한 요청 수")
+                .register(meterRegistry);
+
+        // 키 자체를 태그로 쓰면 cardinality 가 커지므로 순위별 게이지만 노출한다.
+        for (int rank = 1; rank <= topK; rank++) {
+            int index = rank - 1;
+            Gauge.builder("ratelimit.hotkey.rejections", this, tracker -> tracker.rejectionsAt(index))
+                    .description("rate limit 에 가장 많이 걸린 키의 순위별 추정 거절 횟수")
+                    .tag("rank", String.valueOf(rank))
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * 계속 거절되고 있는 키면 true. Redis 를 거치지 않고 바로 거절해도 된다.
+     */
+    public boolean isHot(String key) {
+        if (localRejectThreshold <= 0) {
+            return false;
+        }
+        Long count = topKeys.get(key);
+        return count != null && count >= localRejectThreshold;
+    }
+
+    /**
+     * isHot 으로 로컬 거절한 요청을 센다. sketch 에는 더하지 않는다.
+     */
+    public void recordLocalRejection() {
+        localRejections.increment();
+    }
+
+    public void recordRejection(String key) {
+        long estimate = sketch.increment(key);
+        if (topKeys.computeIfPresent(key, (k, count) -> Math.max(count, estimate)) != null
+                || estimate <= topKMinimum) {
+            return;
+        }
+        synchronized (topKeys) {
+            if (topKeys.containsKey(key) || topKeys.size() < topK) {
+                topKeys.merge(key, estimate, Math::max);
+            } else {
+                // K 가 작아서 힙 대신 최솟값을 선형 탐색한다.
+                String minimumKey = minimumKey();
+                if (topKeys.get(minimumKey) < estimate) {
+                    topKeys.remove(minimumKey);
+                    topKeys.put(key, estimate);
+                }
+            }
+            refreshMinimum();
+        }
+    }
+
+    public List<HotKey> hotKeys() {
+        return snapshot;
+    }
+
+    public long retryAfterSeconds() {
+        return windowSeconds;
+    }
+
+    @Scheduled(fixedDelay = 1_000)
+    public void tick() {
+        long now = System.nanoTime();
+        if (now - lastDecayAt >= windowNanos) {
+            lastDecayAt = now;
+            decay();
+        } else {
+            refreshSnapshot();
+        }
+    }
+
+    void decay() {
+        sketch.decay();
+        synchronized (topKeys) {
+            topKeys.replaceAll((key, count) -> count >>> 1);
+            topKeys.values().removeIf(count -> count == 0);
+            refreshMinimum();
+        }
+        refreshSnapshot();
+    }
+
+    // lock 안에서 호출한다.
+    private String minimumKey() {
+        String minimumKey = null;
+        long minimum = Long.MAX_VALUE;
+        for (Map.Entry<String, Long> entry : topKeys.entrySet()) {
+            if (entry.getValue() < minimum) {
+                minimum = entry.getValue();
+                minimumKey = entry.getKey();
+            }
+        }
+        return minimumKey;
+    }
+
+    // lock 안에서 호출한다. lock 없이 갱신된 값 때문에 실제보다 작을 수 있지만, 그러면 lock 을 한 번 더 잡을 뿐이다.
+    private void refreshMinimum() {
+        this.topKMinimum = topKeys.size() < topK ? 0 : topKeys.get(minimumKey());
+    }
+
+    private void refreshSnapshot() {
+        List<HotKey> sorted = new ArrayList<>(topK);
+        topKeys.forEach((key, count) -> sorted.add(new HotKey(key, count)));
+        sorted.sort(Comparator.comparingLong(HotKey::rejections).reversed());
+        this.snapshot = List.copyOf(sorted);
+    }
+
+    private double rejectionsAt(int index) {
+        List<HotKey> current = snapshot;
+        return index < current.size() ? current.get(index).rejections() : 0;
+    }
+
+    public record HotKey(String key, long rejections) {
+    }
+}
@@ -0,0 +1,179 @@
+package org.fortishop.edgeservice.global.ratelimit;
+
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Redis 전역 버킷에서 leaseSize 개씩 토큰을 빌려와 노드 로컬 버킷에서 소비한다.
+ * <p>
+ * 요청 경로는 로컬 카운터 CAS 만 수행하고, 남은 토큰이 절반 이하로 떨어지면 백그라운드에서 다음 lease 를 받아온다.
+ * 빌려온 토큰은 leaseTtl 이 지나면 버려지므로 노드 간 한도는 대략적으로(최대 노드 수 x leaseSize 만큼) 유지된다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "rate-limit.mode", havingValue = "hybrid")
+public class HybridRateLimiter implements RateLimiter {
+    private final RedisTokenBuckets redisTokenBuckets;
+    private final int leaseSize;
+    private final long leaseTtlMillis;
+    private final ConcurrentHashMap<String, LocalBucket> buckets = new ConcurrentHashMap<>();
+    private final Executor renewExecutor;
+
+    public HybridRateLimiter(RedisTokenBuckets redisTokenBuckets, RateLimitProperties properties) {
+        this(redisTokenBuckets, properties, new ThreadPoolExecutor(1, 2, 30L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(1_024), runnable -> {
+                    Thread thread = new Thread(runnable, "rate-limit-lease");
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy()));
+    }
+
+    HybridRateLimiter(RedisTokenBuckets redisTokenBuckets, RateLimitProperties properties, Executor renewExecutor) {
+        this.redisTokenBuckets = redisTokenBuckets;
+        this.leaseSize = Math.max(1, properties.getLeaseSize());
+        this.leaseTtlMillis = properties.getLeaseTtl().toMillis();
+        this.renewExecutor = renewExecutor;
+    }
+
+    @Override
+    public RateLimitDecision tryAcquire(String key, RateLimitPolicy policy) {
+        long now = System.currentTimeMillis();
+        LocalBucket bucket = buckets.computeIfAbsent(policy.bucketKey(key), k -> new LocalBucket());
+        bucket.lastAccessAt = now;
+
+        long remaining = bucket.take(now);
+        if (remaining >= 0) {
+            if (remaining * 2 <= leaseSize(policy)) {
+                renewAsync(key, policy, bucket);
+            }
+            return allowed(bucket, remaining);
+        }
+
+        // 로컬 토큰이 없으면 한 스레드만 동기적으로 lease 를 받고 나머지는 거절한다.
+        if (now < bucket.retryAt || !bucket.renewing.compareAndSet(false, true)) {
+            return rejected(bucket, policy, now);
+        }
+        try {
+            renew(key, policy, bucket);
+        } finally {
+            bucket.renewing.set(false);
+        }
+        now = System.currentTimeMillis();
+        remaining = bucket.take(now);
+        return remaining >= 0 ? allowed(bucket, remaining) : rejected(bucket, policy, now);
+    }
+
+    // 남은 토큰 수는 로컬 토큰과 마지막 lease 때 본 전역 잔량의 합으로 근사한다.
+    private RateLimitDecision allowed(LocalBucket bucket, long remaining) {
+        return new RateLimitDecision(true, remaining + bucket.globalRemaining, 0);
+    }
+
+    private RateLimitDecision rejected(LocalBucket bucket, RateLimitPolicy policy, long now) {
+        long reset = bucket.retryAt > now ? bucket.retryAt - now : policy.refillIntervalMillis();
+        return new RateLimitDecision(false, 0, reset);
+    }
+
+    private void renewAsync(String key, RateLimitPolicy policy, LocalBucket bucket) {
+        if (!bucket.renewing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            renewExecutor.execute(() -> {
+                try {
+                    renew(key, policy, bucket);
+                } catch (RuntimeException e) {
+                    log.warn("Failed to renew rate limit lease. key = {}", key, e);
+                } finally {
+                    bucket.renewing.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            bucket.renewing.set(false);
+        }
+    }
+
+    private void renew(String key, RateLimitPolicy policy, LocalBucket bucket) {
+        RedisTokenBuckets.Acquisition acquisition = redisTokenBuckets.acquire(key, policy, leaseSize(policy));
+        long now = System.currentTimeMillis();
+        bucket.globalRemaining = acquisition.remaining();
+        if (acquisition.granted() > 0) {
+            bucket.grant(acquisition.granted(), now + leaseTtlMillis);
+        } else {
+            // 전역 버킷이 비었으면 다음 토큰이 생길 때까지는 Redis 에 묻지 않는다.
+            bucket.retryAt = now + Math.max(1, acquisition.resetMillis());
+        }
+    }
+
+    private int leaseSize(RateLimitPolicy policy) {
+        return Math.min(leaseSize, policy.capacity());
+    }
+
+    /**
+     * 한동안 요청이 없던 키의 로컬 버킷을 비운다. 남아 있던 토큰은 전역 버킷에 돌려주지 않는다.
+     */
+    @Scheduled(fixedDelayString = "${rate-limit.local-sweep-interval:10000}")
+    public void sweep() {
+        long idleBefore = System.currentTimeMillis() - leaseTtlMillis * 10;
+        buckets.values().removeIf(bucket -> bucket.lastAccessAt < idleBefore && !bucket.renewing.get());
+    }
+
+    int localBucketCount() {
+        return buckets.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (renewExecutor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    private static final class LocalBucket {
+        private final AtomicLong permits = new AtomicLong();
+        private final AtomicBoolean renewing = new AtomicBoolean();
+        private volatile long expiresAt;
+        private volatile long retryAt;
+        private volatile long lastAccessAt;
+        private volatile long globalRemaining;
+
+        /**
+         * 토큰 하나를 꺼내고 남은 수를 돌려준다. 꺼낼 토큰이 없으면 -1.
+         */
+        long take(long now) {
+            if (now >= expiresAt) {
+                permits.set(0);
+                return -1;
+            }
+            while (true) {
+                long current = permits.get();
+                if (current <= 0) {
+                    return -1;
+                }
+                if (permits.compareAndSet(current, current - 1)) {
+                    return current - 1;
+                }
+            }
+        }
+
+        void grant(long granted, long expiresAt) {
+            if (System.currentTimeMillis() >= this.expiresAt) {
+                permits.set(granted);
+            } else {
+                permits.addAndGet(granted);
+            }
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package org.fortishop.edgeservice.global.ratelimit;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 노드 안에서만 동작하는 token bucket. Redis 를 쓸 수 없을 때의 대체 수단이라 노드 수만큼 한도가 느슨해진다.
+ */
+public class LocalRateLimiter implements RateLimiter {
+    private static final int MAX_BUCKETS = 100_000;
+
+    private final ConcurrentHashMap<String, LocalBucket> buckets = new ConcurrentHashMap<>();
+
+    @Override
+    public RateLimitDecision tryAcquire(String key, RateLimitPolicy policy) {
+        long now = System.currentTimeMillis();
+        if (buckets.size() >= MAX_BUCKETS) {
+            evict(now);
+        }
+        LocalBucket bucket = buckets.computeIfAbsent(policy.bucketKey(key), k -> new LocalBucket(policy, now));
+        return bucket.tryTake(policy, now);
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    private void evict(long now) {
+        // 가득 찬 버킷은 지워도 "키가 없는 버킷"과 같다.
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+        if (buckets.size() >= MAX_BUCKETS) {
+            buckets.clear();
+        }
+    }
+
+    private static final class LocalBucket {
+        private double tokens;
+        private long lastRefillAt;
+        private long fullAt;
+
+        LocalBucket(RateLimitPolicy policy, long now) {
+            this.tokens = policy.capacity();
+            this.lastRefillAt = now;
+            this.fullAt = now;
+        }
+
+        synchronized RateLimitDecision tryTake(RateLimitPolicy policy, long now) {
+            long elapsed = Math.max(0, now - lastRefillAt);
+            tokens = Math.min(policy.capacity(), tokens + elapsed / 1000.0 * policy.refillRate());
+            lastRefillAt = now;
+            boolean allowed = tokens >= 1;
+            if (allowed) {
+                tokens -= 1;
+                fullAt = now + (long) Math.ceil((policy.capacity() - tokens) * 1000.0 / policy.refillRate());
+            }
+            long reset = tokens < policy.capacity()
+                    ? (long) Math.ceil((1 - (tokens - Math.floor(tokens))) * 1000.0 / policy.refillRate())
+                    : 0;
+            return new RateLimitDecision(allowed, (long) Math.floor(tokens), reset);
+        }
+
+        synchronized boolean isFull(long now) {
+            return now >= fullAt;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package org.fortishop.edgeservice.global.ratelimit;
+
+/**
+ * 요청 제한 판단 결과.
+ *
+ * @param allowed     허용 여부
+ * @param remaining   남은 토큰 수 (음수면 알 수 없음)
+ * @param resetMillis 다음 토큰이 생길 때까지의 시간(ms)
+ */
+public record RateLimitDecision(boolean allowed, long remaining, long resetMillis) {
+    private static final RateLimitDecision UNKNOWN = new RateLimitDecision(true, -1, 0);
+
+    /**
+     * 한도를 확인하지 못하고 허용한 경우 (fail-open).
+     */
+    public static RateLimitDecision unknown() {
+        return UNKNOWN;
+    }
+
+    public boolean hasQuota() {
+        return remaining >= 0;
+    }
+
+    public long resetSeconds() {
+        return (resetMillis + 999) / 1000;
+    }
+
+    // 거절된 요청이 다시 시도해도 되는 시간(초). 최소 1초.
+    public long retryAfterSeconds() {
+        return Math.max(1, resetSeconds());
+    }
+}
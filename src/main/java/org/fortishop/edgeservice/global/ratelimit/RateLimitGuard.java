@@ -0,0 +1,69 @@
+package org.fortishop.edgeservice.global.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * RateLimiter 호출을 서킷 브레이커로 감싼다. Redis 호출이 실패하거나 서킷이 열려 있으면 fallback 으로 판단한다.
+ * <p>
+ * fallback 은 fail-open(모두 허용) 또는 local(노드 로컬 token bucket) 중 하나다.
+ */
+@Slf4j
+@Component
+public class RateLimitGuard {
+    public static final String FAIL_OPEN = "fail-open";
+    public static final String LOCAL = "local";
+
+    private final RateLimiter rateLimiter;
+    private final RateLimitCircuitBreaker circuitBreaker;
+    private final RateLimiter fallback;
+    private final Counter failureCounter;
+    private final Counter fallbackCounter;
+
+    public RateLimitGuard(RateLimiter rateLimiter, RateLimitProperties properties, MeterRegistry meterRegistry) {
+        RateLimitProperties.CircuitBreaker config = properties.getCircuitBreaker();
+        this.rateLimiter = rateLimiter;
+        this.circuitBreaker = new RateLimitCircuitBreaker(config.getFailureThreshold(), config.getOpenDuration());
+        this.fallback = switch (config.getFallback()) {
+            case FAIL_OPEN -> (key, policy) -> RateLimitDecision.unknown();
+            case LOCAL -> new LocalRateLimiter();
+            default -> throw new IllegalStateException("Unknown rate limit fallback: " + config.getFallback());
+        };
+
+        Gauge.builder("ratelimit.circuit.open", circuitBreaker,
+                        breaker -> breaker.state() == RateLimitCircuitBreaker.State.CLOSED ? 0 : 1)
+                .description("rate limit 서킷 브레이커가 열려 있으면 1")
+                .register(meterRegistry);
+        this.failureCounter = Counter.builder("ratelimit.redis.failures")
+                .register(meterRegistry);
+        this.fallbackCounter = Counter.builder("ratelimit.fallback")
+                .description("fallback 으로 판단한 요청 수")
+                .register(meterRegistry);
+    }
+
+    public RateLimitDecision tryAcquire(String key, RateLimitPolicy policy) {
+        if (!circuitBreaker.allowRequest()) {
+            fallbackCounter.increment();
+            return fallback.tryAcquire(key, policy);
+        }
+        RateLimitDecision decision;
+        try {
+            decision = rateLimiter.tryAcquire(key, policy);
+        } catch (RuntimeException e) {
+            circuitBreaker.onFailure();
+            failureCounter.increment();
+            fallbackCounter.increment();
+            log.debug("Rate limiter call failed. key = {}", key, e);
+            return fallback.tryAcquire(key, policy);
+        }
+        circuitBreaker.onSuccess();
+        return decision;
+    }
+
+    RateLimitCircuitBreaker.State circuitState() {
+        return circuitBreaker.state();
+    }
+}
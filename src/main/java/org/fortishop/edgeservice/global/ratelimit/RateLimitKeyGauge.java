@@ -0,0 +1,71 @@
+package org.fortishop.edgeservice.global.ratelimit;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Redis 에 살아 있는 rate limit 버킷 키 수를 ratelimit.bucket.keys 게이지로 노출한다.
+ * <p>
+ * SCAN 은 전체 키 공간을 훑으므로 노드마다 돌리지 않는다. keyScanInterval 동안 유지되는 SET NX 키를 잡은 노드 하나만 스캔해 결과를 Redis 에 남기고,
+ * 모든 노드는 그 값을 읽어 게이지에 반영한다. 노드 수가 늘어도 스캔 횟수는 keyScanInterval 당 한 번이다.
+ */
+@Slf4j
+@Component
+public class RateLimitKeyGauge {
+    static final String SCAN_LOCK_KEY = "ratelimit:bucket-keys:scan";
+    static final String COUNT_KEY = "ratelimit:bucket-keys:count";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ScanOptions scanOptions;
+    private final Duration scanInterval;
+    private final AtomicLong liveKeys = new AtomicLong();
+
+    public RateLimitKeyGauge(StringRedisTemplate stringRedisTemplate, RedisTokenBuckets redisTokenBuckets,
+                             RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.scanOptions = ScanOptions.scanOptions()
+                .match(redisTokenBuckets.keyPrefix() + "*")
+                .count(1_000)
+                .build();
+        this.scanInterval = properties.getKeyScanInterval();
+        Gauge.builder("ratelimit.bucket.keys", liveKeys, AtomicLong::get)
+                .description("Redis 에 남아 있는 rate limit 버킷 키 수")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelay = 60_000, initialDelay = 10_000)
+    public void refresh() {
+        try {
+            // 스캔 후에도 키를 지우지 않는다. 다음 스캔은 키가 만료된 뒤 처음 refresh 한 노드가 한다.
+            if (Boolean.TRUE.equals(stringRedisTemplate.opsForValue().setIfAbsent(SCAN_LOCK_KEY, "1", scanInterval))) {
+                stringRedisTemplate.opsForValue().set(COUNT_KEY, String.valueOf(scan()));
+            }
+            String count = stringRedisTemplate.opsForValue().get(COUNT_KEY);
+            if (count != null) {
+                liveKeys.set(Long.parseLong(count));
+            }
+        } catch (DataAccessException e) {
+            log.warn("Failed to count rate limit keys", e);
+        }
+    }
+
+    private long scan() {
+        long count = 0;
+        try (Cursor<String> cursor = stringRedisTemplate.scan(scanOptions)) {
+            while (cursor.hasNext()) {
+                cursor.next();
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,100 @@
+package org.fortishop.edgeservice.global.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.fortishop.edgeservice.global.route.RouteClass;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+/**
+ * rate-limit.policies 설정을 경로 패턴, HTTP 메서드, 역할로 매칭해 요청에 적용할 정책을 고른다.
+ * <p>
+ * Config Server + Bus refresh 로 설정이 바뀌면 매칭 규칙을 통째로 다시 만든다.
+ */
+@Slf4j
+@Component
+public class RateLimitPolicies {
+    public static final String GUEST_ROLE = "ROLE_GUEST";
+
+    private final RateLimitProperties properties;
+
+    private volatile Rules rules;
+
+    public RateLimitPolicies(RateLimitProperties properties) {
+        this.properties = properties;
+        this.rules = Rules.from(properties);
+    }
+
+    @EventListener(RefreshScopeRefreshedEvent.class)
+    public void reload() {
+        try {
+            Rules reloaded = Rules.from(properties);
+            this.rules = reloaded;
+            log.info("Rate limit policies reloaded. rules = {}", reloaded.rules().size());
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            // 잘못된 설정이 들어오면 기존 정책을 유지한다.
+            log.error("Invalid rate limit policies. keeping previous policies", e);
+        }
+    }
+
+    public RateLimitPolicy resolve(HttpServletRequest request, String role) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return resolve(path, request.getMethod(), role);
+    }
+
+    public RateLimitPolicy resolve(String path, String method, String role) {
+        Rules current = this.rules;
+        if (current.rules().isEmpty()) {
+            return current.defaultPolicy();
+        }
+        PathContainer pathContainer = PathContainer.parsePath(path);
+        for (Rule rule : current.rules()) {
+            if (rule.matches(pathContainer, method, role)) {
+                return rule.policy();
+            }
+        }
+        return current.defaultPolicy();
+    }
+
+    private record Rules(RateLimitPolicy defaultPolicy, List<Rule> rules) {
+
+        static Rules from(RateLimitProperties properties) {
+            RateLimitPolicy defaultPolicy = new RateLimitPolicy(RouteClass.DEFAULT_RATE_LIMIT_POLICY,
+                    properties.getCapacity(), properties.getRefillRate());
+            PathPatternParser parser = new PathPatternParser();
+            List<Rule> rules = new ArrayList<>();
+            for (RateLimitProperties.Policy policy : properties.getPolicies()) {
+                rules.add(new Rule(
+                        parser.parse(policy.getPath()),
+                        normalize(policy.getMethods()),
+                        normalize(policy.getRoles()),
+                        new RateLimitPolicy(policy.getName(), policy.getCapacity(), policy.getRefillRate())));
+            }
+            return new Rules(defaultPolicy, List.copyOf(rules));
+        }
+
+        private static Set<String> normalize(Set<String> values) {
+            return values.stream()
+                    .map(value -> value.trim().toUpperCase(Locale.ROOT))
+                    .collect(Collectors.toUnmodifiableSet());
+        }
+    }
+
+    private record Rule(PathPattern pattern, Set<String> methods, Set<String> roles, RateLimitPolicy policy) {
+
+        boolean matches(PathContainer path, String method, String role) {
+            return (methods.isEmpty() || methods.contains(method))
+                    && (roles.isEmpty() || roles.contains(role))
+                    && pattern.matches(path);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package org.fortishop.edgeservice.global.ratelimit;
+
+import org.fortishop.edgeservice.global.route.RouteClass;
+
+/**
+ * 요청 제한 정책. 정책마다 별도의 버킷을 사용한다.
+ *
+ * @param name       정책 이름 (기본 정책이 아니면 버킷 키에 포함된다)
+ * @param capacity   최대 버킷 크기
+ * @param refillRate 초당 토큰 생성 수
+ */
+public record RateLimitPolicy(String name, int capacity, int refillRate) {
+
+    public RateLimitPolicy {
+        if (name == null || name.isBlank()) {
+            throw new IllegalStateException("Rate limit policy name is required");
+        }
+        if (capacity <= 0 || refillRate <= 0) {
+            throw new IllegalStateException("Rate limit policy must have positive capacity and refill rate: " + name);
+        }
+    }
+
+    /**
+     * 기본 정책은 정책 도입 전과 같은 키를 그대로 쓴다. 키 형식을 바꾸면 TTL 없이 남은 기존 tokenbucket 키가 다시 쓰이지 않아 영원히 남는다.
+     */
+    public String bucketKey(String key) {
+        return RouteClass.DEFAULT_RATE_LIMIT_POLICY.equals(name) ? key : name + ":" + key;
+    }
+
+    // 빈 버킷이 가득 찰 때까지의 시간. 그 이후에는 키가 없어도 "가득 찬 버킷"과 같다.
+    public long bucketTtlMillis() {
+        return (long) Math.ceil(capacity * 1000.0 / refillRate);
+    }
+
+    // 토큰 하나가 다시 찰 때까지의 시간
+    public long refillIntervalMillis() {
+        return Math.max(1, 1000L / refillRate);
+    }
+}
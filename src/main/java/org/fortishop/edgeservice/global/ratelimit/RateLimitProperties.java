@@ -0,0 +1,63 @@
+package org.fortishop.edgeservice.global.ratelimit;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+    private String mode = "redis";                  // redis | hybrid
+    private String algorithm = RedisTokenBuckets.TOKEN_BUCKET;  // token-bucket | gcra
+    private int capacity = 5;                       // 기본 정책의 최대 버킷 크기
+    private int refillRate = 5;                     // 기본 정책의 초당 토큰 생성 수
+    private int leaseSize = 2;                      // hybrid: 한 번에 Redis 에서 빌려오는 토큰 수
+    private Duration leaseTtl = Duration.ofSeconds(1);  // hybrid: 빌려온 토큰의 로컬 유효기간
+    private Duration timeout = Duration.ofMillis(50);   // Redis 명령 타임아웃
+    private Duration keyScanInterval = Duration.ofMinutes(10);  // 버킷 키 수를 SCAN 하는 주기. 전체 노드 중 한 노드만 스캔한다
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+    private HotKey hotKey = new HotKey();
+
+    // 위에서부터 처음 일치하는 정책을 사용하고, 일치하는 정책이 없으면 기본 정책을 사용한다.
+    private List<Policy> policies = new ArrayList<>();
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    public static class CircuitBreaker {
+        private int failureThreshold = 5;           // 연속 실패 횟수
+        private Duration openDuration = Duration.ofSeconds(5);
+        private String fallback = RateLimitGuard.FAIL_OPEN;  // fail-open | local
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    public static class HotKey {
+        private int depth = 4;
+        private int width = 2048;
+        private int topK = 10;
+        private Duration window = Duration.ofSeconds(10);  // 윈도우마다 횟수를 절반으로 줄인다
+        private long localRejectThreshold;          // 0 이면 로컬 거절하지 않음
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    public static class Policy {
+        private String name;
+        private String path = "/**";                // PathPattern 문법
+        private Set<String> methods = new LinkedHashSet<>();  // 비어 있으면 모든 메서드
+        private Set<String> roles = new LinkedHashSet<>();    // ROLE_USER, ROLE_ADMIN, ROLE_GUEST. 비어 있으면 모든 역할
+        private int capacity;
+        private int refillRate;
+    }
+}
@@ -0,0 +1,6 @@
+package org.fortishop.edgeservice.global.ratelimit;
+
+public interface RateLimiter {
+
+    RateLimitDecision tryAcquire(String key, RateLimitPolicy policy);
+}
@@ -0,0 +1,21 @@
+package org.fortishop.edgeservice.global.ratelimit;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 요청마다 Redis 의 전역 버킷에서 토큰 하나를 가져간다.
+ */
+@Component
+@ConditionalOnProperty(name = "rate-limit.mode", havingValue = "redis", matchIfMissing = true)
+@RequiredArgsConstructor
+public class RedisRateLimiter implements RateLimiter {
+    private final RedisTokenBuckets redisTokenBuckets;
+
+    @Override
+    public RateLimitDecision tryAcquire(String key, RateLimitPolicy policy) {
+        RedisTokenBuckets.Acquisition acquisition = redisTokenBuckets.acquire(key, policy, 1);
+        return new RateLimitDecision(acquisition.granted() > 0, acquisition.remaining(), acquisition.resetMillis());
+    }
+}
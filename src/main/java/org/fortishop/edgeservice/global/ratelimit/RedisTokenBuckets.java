@@ -0,0 +1,87 @@
+package org.fortishop.edgeservice.global.ratelimit;
+
+import java.util.Collections;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+/**
+ * Redis 의 전역 버킷. rate-limit.algorithm 에 따라 token bucket(hash 두 필드) 또는 GCRA(정수 하나) 스크립트를 사용한다.
+ * <p>
+ * 스크립트는 한 번만 로드되어 EVALSHA 로 실행된다. 두 알고리즘은 값 형식이 달라 키 prefix 를 나눠 쓴다.
+ * 명령 타임아웃이 짧은 전용 연결(rateLimitRedisConnectionFactory)을 사용한다.
+ */
+@Component
+public class RedisTokenBuckets {
+    public static final String TOKEN_BUCKET = "token-bucket";
+    public static final String GCRA = "gcra";
+    private static final RedisScript<List<Long>> TOKEN_BUCKET_SCRIPT = script("scripts/token-bucket.lua");
+    private static final RedisScript<List<Long>> GCRA_SCRIPT = script("scripts/gcra.lua");
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisScript<List<Long>> script;
+    private final String keyPrefix;
+
+    public RedisTokenBuckets(@Qualifier("rateLimitRedisConnectionFactory") RedisConnectionFactory connectionFactory,
+                             RateLimitProperties properties) {
+        this.redisTemplate = new StringRedisTemplate(connectionFactory);
+        switch (properties.getAlgorithm()) {
+            case TOKEN_BUCKET -> {
+                this.script = TOKEN_BUCKET_SCRIPT;
+                this.keyPrefix = "tokenbucket:";
+            }
+            case GCRA -> {
+                this.script = GCRA_SCRIPT;
+                this.keyPrefix = "gcra:";
+            }
+            default -> throw new IllegalStateException("Unknown rate limit algorithm: " + properties.getAlgorithm());
+        }
+    }
+
+    public String keyPrefix() {
+        return keyPrefix;
+    }
+
+    /**
+     * 정책의 버킷에서 최대 requested 개의 토큰을 가져가고, 가져간 수와 남은 토큰 수, 다음 토큰까지의 시간을 돌려준다.
+     * 스크립트 결과가 없으면 거절이 아니라 Redis 장애로 본다.
+     */
+    public Acquisition acquire(String key, RateLimitPolicy policy, long requested) {
+        List<Long> result = redisTemplate.execute(
+                script,
+                Collections.singletonList(keyPrefix + policy.bucketKey(key)),
+                String.valueOf(System.currentTimeMillis()),
+                String.valueOf(policy.capacity()),
+                String.valueOf(policy.refillRate()),
+                String.valueOf(policy.bucketTtlMillis()),
+                String.valueOf(requested)
+        );
+        if (result == null || result.size() < 3) {
+            throw new RedisSystemException("Rate limit script returned no result", null);
+        }
+        return new Acquisition(result.get(0), result.get(1), result.get(2));
+    }
+
+    // 스크립트는 정수 배열만 반환하므로 MULTI 결과의 원소는 모두 Long 이다.
+    @SuppressWarnings("unchecked")
+    static RedisScript<List<Long>> script(String location) {
+        DefaultRedisScript<List<Long>> script = new DefaultRedisScript<>();
+        script.setLocation(new ClassPathResource(location));
+        script.setResultType((Class<List<Long>>) (Class<?>) List.class);
+        return script;
+    }
+
+    /**
+     * @param granted     실제로 가져간 토큰 수 (0 = 거절)
+     * @param remaining   남은 토큰 수
+     * @param resetMillis 다음 토큰이 생길 때까지의 시간(ms)
+     */
+    public record Acquisition(long granted, long remaining, long resetMillis) {
+    }
+}
@@ -29,11 +29,11 @@ public class RedisService {
 
     @Transactional(readOnly = true)
     public String getValues(String key) {
-        ValueOperations<String, Object> values = redisTemplate.opsForValue();
-        if (values.get(key) == null) {
+        Object value = redisTemplate.opsForValue().get(key);
+        if (value == null) {
             return "false";
         }
-        return (String) values.get(key);
+        return (String) value;
     }
 
     public void deleteValues(String key) {
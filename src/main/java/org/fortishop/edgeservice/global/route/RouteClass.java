@@ -0,0 +1,26 @@
+package org.fortishop.edgeservice.global.route;
+
+/**
+ * 요청 경로 분류 결과.
+ *
+ * @param access          인증 필요 여부
+ * @param rateLimitPolicy 적용할 요청 제한 정책 이름 (null 이면 제한하지 않음)
+ * @param logged          요청 로그 기록 여부
+ */
+public record RouteClass(Access access, String rateLimitPolicy, boolean logged) {
+    public static final String ATTRIBUTE = RouteClass.class.getName();
+    public static final String DEFAULT_RATE_LIMIT_POLICY = "default";
+
+    public boolean isPublic() {
+        return access == Access.PUBLIC;
+    }
+
+    public boolean isRateLimited() {
+        return rateLimitPolicy != null;
+    }
+
+    public enum Access {
+        PUBLIC,
+        AUTHENTICATED
+    }
+}
@@ -0,0 +1,85 @@
+package org.fortishop.edgeservice.global.route;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.HashMap;
+import java.util.Map;
+import org.fortishop.edgeservice.global.ratelimit.HotKeyEndpoint;
+import org.fortishop.edgeservice.global.route.RouteClass.Access;
+import org.springframework.stereotype.Component;
+
+/**
+ * 경로 세그먼트 단위의 prefix trie 로 요청을 분류한다. 가장 길게 일치하는 prefix 의 분류를 사용한다.
+ * <p>
+ * 분류 결과는 요청 속성에 저장되어 이후 필터들은 다시 매칭하지 않는다.
+ */
+@Component
+public class RouteClassifier {
+    private static final String DEFAULT = RouteClass.DEFAULT_RATE_LIMIT_POLICY;
+
+    private final Node root = new Node();
+
+    public RouteClassifier() {
+        root.route = new RouteClass(Access.AUTHENTICATED, null, true);
+        add("/api", new RouteClass(Access.AUTHENTICATED, DEFAULT, true));
+        add("/api/auths/login", new RouteClass(Access.PUBLIC, DEFAULT, true));
+        add("/api/auths/reissue", new RouteClass(Access.PUBLIC, DEFAULT, true));
+        add("/api/members/signup", new RouteClass(Access.PUBLIC, DEFAULT, true));
+        add("/api/members/check-nickname", new RouteClass(Access.PUBLIC, DEFAULT, true));
+        add("/api/members/check-email", new RouteClass(Access.PUBLIC, DEFAULT, true));
+        add("/actuator", new RouteClass(Access.PUBLIC, null, false));
+        // hot key 목록에는 회원 id 와 클라이언트 IP 가 담기므로 공개하지 않는다. (SecurityConfig 에서 ADMIN 만 허용)
+        add(HotKeyEndpoint.PATH, new RouteClass(Access.AUTHENTICATED, null, false));
+    }
+
+    public RouteClass classify(HttpServletRequest request) {
+        Object cached = request.getAttribute(RouteClass.ATTRIBUTE);
+        if (cached instanceof RouteClass routeClass) {
+            return routeClass;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        RouteClass routeClass = classify(path);
+        request.setAttribute(RouteClass.ATTRIBUTE, routeClass);
+        return routeClass;
+    }
+
+    public RouteClass classify(String path) {
+        Node node = root;
+        RouteClass matched = root.route;
+        int start = 0;
+        int length = path.length();
+        while (start < length) {
+            if (path.charAt(start) == '/') {
+                start++;
+                continue;
+            }
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = length;
+            }
+            node = node.children.get(path.substring(start, end));
+            if (node == null) {
+                break;
+            }
+            if (node.route != null) {
+                matched = node.route;
+            }
+            start = end;
+        }
+        return matched;
+    }
+
+    private void add(String prefix, RouteClass route) {
+        Node node = root;
+        for (String segment : prefix.split("/")) {
+            if (!segment.isEmpty()) {
+                node = node.children.computeIfAbsent(segment, key -> new Node());
+            }
+        }
+        node.route = route;
+    }
+
+    private static final class Node {
+        private final Map<String, Node> children = new HashMap<>();
+        private RouteClass route;
+    }
+}
@@ -0,0 +1,203 @@
+package org.fortishop.edgeservice.kafka;
+
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.fortishop.edgeservice.dto.event.PointChangedEvent;
+import org.fortishop.edgeservice.global.exception.BaseException;
+import org.springframework.stereotype.Component;
+
+/**
+ * poll 한 번의 레코드를 memberId 로 lane 에 나눠 병렬 처리한다. 같은 회원의 이벤트는 항상 같은 lane 에서 순서대로 처리된다.
+ * <p>
+ * 잔액 부족, 회원 없음 같은 업무 예외는 재시도해도 같으므로 바로 recoverer(DLQ)로 넘긴다. 그 밖의 실패는 lane 안에서 재시도하고,
+ * 그래도 실패하면 recoverer 로 넘긴다. recoverer 까지 실패한 회원의 나머지 이벤트는 순서를 지키기 위해 처리하지 않는다.
+ * <p>
+ * 한 lane 이 poll 마다 쓸 수 있는 시간은 laneTimeBudget 으로 제한한다. 넘으면 그 lane 의 남은 이벤트는 처리하지 않고 다음 poll 로 미뤄,
+ * 느린 회원 하나 때문에 max.poll.interval.ms 를 넘기지 않게 한다.
+ * <p>
+ * 결과는 실제로 실패한 레코드(recoverer 까지 실패)와 시도하지 않고 미룬 레코드(시간 초과, 앞선 실패 뒤의 같은 회원 이벤트)를 구분해 돌려준다.
+ * 호출자는 미룬 레코드를 실패로 세지 않고 그 위치부터 다시 받아야 한다. 이미 처리된 뒤쪽 이벤트가 다시 오더라도 transactionId 멱등 처리로 걸러진다.
+ */
+@Slf4j
+@Component
+public class KeyOrderedDispatcher {
+    private final ExecutorService[] lanes;
+    private final int maxAttempts;
+    private final long retryBackoffMillis;
+    private final long laneTimeBudgetNanos;
+
+    public KeyOrderedDispatcher(PointConsumerProperties properties) {
+        int laneCount = Math.max(1, properties.getLanes());
+        this.lanes = new ExecutorService[laneCount];
+        AtomicInteger sequence = new AtomicInteger();
+        for (int i = 0; i < laneCount; i++) {
+            lanes[i] = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "point-lane-" + sequence.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        this.maxAttempts = Math.max(1, properties.getMaxAttempts());
+        this.retryBackoffMillis = properties.getRetryBackoff().toMillis();
+        this.laneTimeBudgetNanos = properties.getLaneTimeBudget().toNanos();
+    }
+
+    /**
+     * 모든 레코드를 처리하고, 실패한 첫 레코드와 미룬 첫 레코드의 인덱스를 돌려준다.
+     */
+    public Result dispatch(List<ConsumerRecord<String, PointChangedEvent>> records, EventHandler handler,
+                        EventHandler recoverer) {
+        List<List<Integer>> assignments = new ArrayList<>(lanes.length);
+        for (int i = 0; i < lanes.length; i++) {
+            assignments.add(new ArrayList<>());
+        }
+        for (int index = 0; index < records.size(); index++) {
+            assignments.get(laneOf(records.get(index))).add(index);
+        }
+
+        boolean[] failed = new boolean[records.size()];
+        boolean[] deferred = new boolean[records.size()];
+        long deadline = System.nanoTime() + laneTimeBudgetNanos;
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int lane = 0; lane < lanes.length; lane++) {
+            List<Integer> indexes = assignments.get(lane);
+            if (!indexes.isEmpty()) {
+                futures.add(CompletableFuture.runAsync(
+                        () -> runLane(records, indexes, handler, recoverer, failed, deferred, deadline), lanes[lane]));
+            }
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+        return new Result(firstIndex(failed), firstIndex(deferred));
+    }
+
+    private static int firstIndex(boolean[] marks) {
+        for (int index = 0; index < marks.length; index++) {
+            if (marks[index]) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    private void runLane(List<ConsumerRecord<String, PointChangedEvent>> records, List<Integer> indexes,
+                         EventHandler handler, EventHandler recoverer, boolean[] failed, boolean[] deferred,
+                         long deadline) {
+        Set<Long> blockedMembers = new HashSet<>();
+        for (int index : indexes) {
+            PointChangedEvent event = records.get(index).value();
+            Long memberId = event.getMemberId();
+            if (blockedMembers.contains(memberId) || System.nanoTime() >= deadline) {
+                deferred[index] = true;
+                continue;
+            }
+            Outcome outcome = handleWithRetry(event, handler, deadline);
+            if (outcome == Outcome.DEFERRED) {
+                deferred[index] = true;
+                blockedMembers.add(memberId);
+            } else if (outcome == Outcome.FAILED && !recover(event, recoverer)) {
+                failed[index] = true;
+                blockedMembers.add(memberId);
+            }
+        }
+    }
+
+    private Outcome handleWithRetry(PointChangedEvent event, EventHandler handler, long deadline) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                handler.handle(event);
+                return Outcome.HANDLED;
+            } catch (Exception e) {
+                if (!isRetryable(e)) {
+                    log.warn("Rejected point.changed event. transactionId={}, reason={}",
+                            event.getTransactionId(), e.getMessage());
+                    return Outcome.FAILED;
+                }
+                log.warn("Failed to handle point.changed event. transactionId={}, attempt={}",
+                        event.getTransactionId(), attempt, e);
+                if (attempt >= maxAttempts) {
+                    return Outcome.FAILED;
+                }
+                // 다음 시도가 시간 예산을 넘기면 다음 poll 에서 다시 시도한다.
+                if (System.nanoTime() + retryBackoffMillis * 1_000_000L >= deadline || !sleep()) {
+                    return Outcome.DEFERRED;
+                }
+            }
+        }
+    }
+
+    // 업무 규칙 위반은 다시 시도해도 결과가 같다.
+    private boolean isRetryable(Exception e) {
+        return !(e instanceof IllegalArgumentException
+                || e instanceof IllegalStateException
+                || e instanceof BaseException);
+    }
+
+    private boolean recover(PointChangedEvent event, EventHandler recoverer) {
+        try {
+            recoverer.handle(event);
+            return true;
+        } catch (Exception e) {
+            log.error("Failed to recover point.changed event. transactionId={}", event.getTransactionId(), e);
+            return false;
+        }
+    }
+
+    private boolean sleep() {
+        try {
+            Thread.sleep(retryBackoffMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private int laneOf(ConsumerRecord<String, PointChangedEvent> record) {
+        PointChangedEvent event = record.value();
+        Object key = event != null && event.getMemberId() != null ? event.getMemberId() : record.key();
+        return Math.floorMod(key != null ? key.hashCode() : 0, lanes.length);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ExecutorService lane : lanes) {
+            lane.shutdownNow();
+        }
+    }
+
+    private enum Outcome {
+        HANDLED, FAILED, DEFERRED
+    }
+
+    /**
+     * @param failedIndex   처리와 recoverer 가 모두 실패한 첫 레코드. 없으면 -1
+     * @param deferredIndex 시도하지 않고 다음 poll 로 미룬 첫 레코드. 없으면 -1
+     */
+    public record Result(int failedIndex, int deferredIndex) {
+        public boolean completed() {
+            return failedIndex < 0 && deferredIndex < 0;
+        }
+
+        /**
+         * 미룬 레코드보다 앞에서 실제로 실패한 레코드가 있으면 true. 이때만 error handler 가 재시도 횟수를 센다.
+         */
+        public boolean failedFirst() {
+            return failedIndex >= 0 && (deferredIndex < 0 || failedIndex < deferredIndex);
+        }
+    }
+
+    @FunctionalInterface
+    public interface EventHandler {
+        void handle(PointChangedEvent event) throws Exception;
+    }
+}
@@ -0,0 +1,24 @@
+package org.fortishop.edgeservice.kafka;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@ConfigurationProperties(prefix = "point-consumer")
+public class PointConsumerProperties {
+    public static final String RECORD = "record";
+    public static final String BATCH = "batch";
+    public static final String PARALLEL = "parallel";
+
+    private String mode = RECORD;                   // record: 이벤트마다 트랜잭션, batch: poll 마다 트랜잭션, parallel: 회원별 lane 병렬 처리
+    private int maxPollRecords = 500;               // batch, parallel 모드의 poll 당 최대 이벤트 수
+    private int lanes = 16;                         // parallel: 동시에 처리하는 lane 수
+    private int maxAttempts = 4;                    // parallel: lane 안에서의 최대 시도 횟수 (이후 DLQ)
+    private Duration retryBackoff = Duration.ofSeconds(1);
+    private Duration laneTimeBudget = Duration.ofSeconds(60);   // parallel: poll 한 번에 lane 이 쓸 수 있는 시간 (max.poll.interval.ms 보다 작게)
+}
@@ -1,11 +1,19 @@
 package org.fortishop.edgeservice.kafka;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.fortishop.edgeservice.domain.PointSourceService;
 import org.fortishop.edgeservice.dto.event.PointChangedEvent;
+import org.fortishop.edgeservice.service.PointBatchService;
+import org.fortishop.edgeservice.service.PointBatchService.RejectedPointEvent;
 import org.fortishop.edgeservice.service.PointService;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.BatchListenerFailedException;
 import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Component;
 
@@ -14,32 +22,21 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class PointKafkaConsumer {
 
+    private static final String DLQ_TOPIC = "point.changed.dlq";
+
     private final PointService pointService;
+    private final PointBatchService pointBatchService;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final KeyOrderedDispatcher keyOrderedDispatcher;
 
-    @KafkaListener(topics = "point.changed", groupId = "point-group", containerFactory = "pointChangedKafkaListenerContainerFactory")
+    @KafkaListener(topics = "point.changed", groupId = "point-group", containerFactory = "pointChangedKafkaListenerContainerFactory",
+            autoStartup = "#{'${point-consumer.mode:record}' == 'record'}")
     public void consume(PointChangedEvent event, Acknowledgment ack) {
         log.info("[Kafka] Received point.changed: memberId={}, type={}, amount={}",
                 event.getMemberId(), event.getChangeType(), event.getAmount());
 
         try {
-            switch (event.getChangeType()) {
-                case "SAVE" -> pointService.savePoint(
-                        event.getMemberId(), event.getAmount(), event.getReason(),
-                        event.getTransactionId(), event.getTraceId(),
-                        PointSourceService.valueOf(event.getSourceService())
-                );
-                case "USE" -> pointService.usePoint(
-                        event.getMemberId(), event.getAmount(), event.getReason(),
-                        event.getTransactionId(), event.getTraceId(),
-                        PointSourceService.valueOf(event.getSourceService())
-                );
-                case "CANCEL" -> pointService.savePoint( // 적립금 복구
-                        event.getMemberId(), event.getAmount(), "[CANCEL] " + event.getReason(),
-                        event.getTransactionId(), event.getTraceId(),
-                        PointSourceService.valueOf(event.getSourceService())
-                );
-                default -> log.warn("Unsupported changeType: {}", event.getChangeType());
-            }
+            handle(event);
             ack.acknowledge();
         } catch (Exception e) {
             log.error("Failed to handle point.changed event", e);
@@ -47,6 +44,76 @@ public class PointKafkaConsumer {
         }
     }
 
+    private void handle(PointChangedEvent event) {
+        switch (event.getChangeType()) {
+            case "SAVE" -> pointService.savePoint(
+                    event.getMemberId(), event.getAmount(), event.getReason(),
+                    event.getTransactionId(), event.getTraceId(),
+                    PointSourceService.valueOf(event.getSourceService())
+            );
+            case "USE" -> pointService.usePoint(
+                    event.getMemberId(), event.getAmount(), event.getReason(),
+                    event.getTransactionId(), event.getTraceId(),
+                    PointSourceService.valueOf(event.getSourceService())
+            );
+            case "CANCEL" -> pointService.savePoint( // 적립금 복구
+                    event.getMemberId(), event.getAmount(), "[CANCEL] " + event.getReason(),
+                    event.getTransactionId(), event.getTraceId(),
+                    PointSourceService.valueOf(event.getSourceService())
+            );
+            default -> log.warn("Unsupported changeType: {}", event.getChangeType());
+        }
+    }
+
+    /**
+     * point-consumer.mode=batch 일 때 poll 한 번의 이벤트를 한 트랜잭션으로 처리한다.
+     * 반영할 수 없는 이벤트(잔액 부족, 회원 없음 등)는 DLQ 로 보내고 나머지는 그대로 커밋한다.
+     */
+    @KafkaListener(topics = "point.changed", groupId = "point-group",
+            containerFactory = "pointChangedBatchKafkaListenerContainerFactory",
+            autoStartup = "#{'${point-consumer.mode:record}' == 'batch'}")
+    public void consumeBatch(List<PointChangedEvent> events, Acknowledgment ack) {
+        log.info("[Kafka] Received point.changed batch: size={}", events.size());
+
+        List<RejectedPointEvent> rejected = pointBatchService.applyBatch(events);
+        if (!rejected.isEmpty()) {
+            CompletableFuture<?>[] sends = rejected.stream()
+                    .peek(r -> log.warn("Rejected point.changed event: transactionId={}, reason={}",
+                            r.event().getTransactionId(), r.reason()))
+                    .map(r -> kafkaTemplate.send(DLQ_TOPIC, String.valueOf(r.event().getMemberId()), r.event()))
+                    .toArray(CompletableFuture[]::new);
+            // DLQ 전송이 확인된 뒤에 offset 을 커밋한다.
+            CompletableFuture.allOf(sends).join();
+        }
+        ack.acknowledge();
+    }
+
+    /**
+     * point-consumer.mode=parallel 일 때 poll 한 번의 이벤트를 memberId 별 lane 으로 나눠 병렬 처리한다.
+     * recoverer 까지 실패한 레코드가 있으면 error handler 에 넘겨 재시도 횟수를 세게 한다. 시간 예산을 넘겨 미룬 레코드는 실패가 아니므로
+     * error handler 를 거치지 않고, 그 앞까지 커밋한 뒤 그 위치부터 바로 다시 받는다.
+     */
+    @KafkaListener(topics = "point.changed", groupId = "point-group",
+            containerFactory = "pointChangedBatchKafkaListenerContainerFactory",
+            autoStartup = "#{'${point-consumer.mode:record}' == 'parallel'}")
+    public void consumeParallel(List<ConsumerRecord<String, PointChangedEvent>> records, Acknowledgment ack) {
+        log.info("[Kafka] Received point.changed records: size={}", records.size());
+
+        KeyOrderedDispatcher.Result result = keyOrderedDispatcher.dispatch(records, this::handle, this::sendToDlq);
+        if (result.completed()) {
+            ack.acknowledge();
+        } else if (result.failedFirst()) {
+            throw new BatchListenerFailedException("Failed to handle point.changed event", result.failedIndex());
+        } else {
+            // 뒤쪽의 실패 레코드도 다시 받아 lane 에서 처음부터 재시도한다.
+            ack.nack(result.deferredIndex(), Duration.ZERO);
+        }
+    }
+
+    private void sendToDlq(PointChangedEvent event) {
+        kafkaTemplate.send(DLQ_TOPIC, String.valueOf(event.getMemberId()), event).join();
+    }
+
     @KafkaListener(topics = "point.changed.dlq", groupId = "point-dlq-group")
     public void handleDlq(PointChangedEvent event) {
         log.error("[DLQ 메시지 확인] point.changed 처리 실패 : {}", event);
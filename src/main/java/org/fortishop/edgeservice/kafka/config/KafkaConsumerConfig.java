@@ -2,6 +2,7 @@ package org.fortishop.edgeservice.kafka.config;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Properties;
 import lombok.RequiredArgsConstructor;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
@@ -9,6 +10,7 @@ import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.fortishop.edgeservice.dto.event.PointChangedEvent;
 import org.fortishop.edgeservice.kafka.KafkaProperties;
+import org.fortishop.edgeservice.kafka.PointConsumerProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
@@ -29,6 +31,7 @@ import org.springframework.util.backoff.FixedBackOff;
 public class KafkaConsumerConfig {
 
     private final KafkaProperties kafkaProperties;
+    private final PointConsumerProperties pointConsumerProperties;
 
     @Bean
     public ConcurrentKafkaListenerContainerFactory<String, PointChangedEvent> pointChangedKafkaListenerContainerFactory(
@@ -40,17 +43,46 @@ public class KafkaConsumerConfig {
         factory.setConsumerFactory(pointChangedConsumerFactory());
         factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
 
-        DeadLetterPublishingRecoverer recoverer = new DeadLetterPublishingRecoverer(
-                kafkaTemplate,
-                (record, ex) -> new TopicPartition("point.changed.dlq", record.partition())
-        );
+        DefaultErrorHandler errorHandler = new DefaultErrorHandler(deadLetterRecoverer(kafkaTemplate),
+                new FixedBackOff(1000L, 3));
+        factory.setCommonErrorHandler(errorHandler);
+
+        return factory;
+    }
+
+    /**
+     * poll 한 번의 이벤트를 List 로 받는 batch 리스너용. 배치 전체가 실패하면 재시도 후 배치의 모든 레코드를 DLQ 로 보낸다.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, PointChangedEvent> pointChangedBatchKafkaListenerContainerFactory(
+            KafkaTemplate<String, Object> kafkaTemplate) {
+
+        ConcurrentKafkaListenerContainerFactory<String, PointChangedEvent> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+
+        factory.setConsumerFactory(pointChangedConsumerFactory());
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+
+        Properties consumerProperties = new Properties();
+        consumerProperties.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG,
+                String.valueOf(pointConsumerProperties.getMaxPollRecords()));
+        factory.getContainerProperties().setKafkaConsumerProperties(consumerProperties);
 
-        DefaultErrorHandler errorHandler = new DefaultErrorHandler(recoverer, new FixedBackOff(1000L, 3));
+        DefaultErrorHandler errorHandler = new DefaultErrorHandler(deadLetterRecoverer(kafkaTemplate),
+                new FixedBackOff(1000L, 3));
         factory.setCommonErrorHandler(errorHandler);
 
         return factory;
     }
 
+    private DeadLetterPublishingRecoverer deadLetterRecoverer(KafkaTemplate<String, Object> kafkaTemplate) {
+        return new DeadLetterPublishingRecoverer(
+                kafkaTemplate,
+                (record, ex) -> new TopicPartition("point.changed.dlq", record.partition())
+        );
+    }
+
     @Bean
     public ConsumerFactory<String, PointChangedEvent> pointChangedConsumerFactory() {
         Map<String, Object> props = new HashMap<>();
@@ -1,13 +1,48 @@
 package org.fortishop.edgeservice.repository;
 
+import java.math.BigDecimal;
+import jakarta.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import org.fortishop.edgeservice.domain.Member;
 import org.fortishop.edgeservice.domain.MemberPoint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface MemberPointRepository extends JpaRepository<MemberPoint, Long> {
     Optional<MemberPoint> findByMember(Member member);
-}
 
+    boolean existsByMemberId(Long memberId);
+
+    /**
+     * 여러 회원의 포인트 행을 member id 순서로 잠근다. 순서를 고정해 배치끼리 교착되지 않게 한다.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM MemberPoint p WHERE p.member.id IN :memberIds ORDER BY p.member.id")
+    List<MemberPoint> findAllByMemberIdInForUpdate(@Param("memberIds") Collection<Long> memberIds);
+
+    /**
+     * 잔액을 한 문장으로 늘린다. 포인트 행이 없으면 만든다.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO member_point (member_id, amount, last_updated) VALUES (:memberId, :amount, :now) "
+            + "ON DUPLICATE KEY UPDATE amount = amount + :amount, last_updated = :now", nativeQuery = true)
+    int increase(@Param("memberId") Long memberId, @Param("amount") BigDecimal amount,
+                 @Param("now") LocalDateTime now);
+
+    /**
+     * 잔액이 충분할 때만 줄인다. 0 이 반환되면 잔액 부족(또는 포인트 행 없음)이다.
+     */
+    @Modifying
+    @Query("UPDATE MemberPoint p SET p.amount = p.amount - :amount, p.lastUpdated = :now "
+            + "WHERE p.member.id = :memberId AND p.amount >= :amount")
+    int decrease(@Param("memberId") Long memberId, @Param("amount") BigDecimal amount,
+                 @Param("now") LocalDateTime now);
+}
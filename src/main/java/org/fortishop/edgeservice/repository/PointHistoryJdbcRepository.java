@@ -0,0 +1,49 @@
+package org.fortishop.edgeservice.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.fortishop.edgeservice.domain.PointHistory;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * PointHistory 는 IDENTITY 키라 Hibernate 가 insert 를 배치로 묶지 못한다. 대량 적재는 JDBC batch 로 처리한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PointHistoryJdbcRepository {
+    private static final String INSERT_SQL = "INSERT INTO point_history "
+            + "(member_id, change_type, amount, description, created_at, transaction_id, trace_id, source_service) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void batchInsert(List<PointHistory> histories) {
+        if (histories.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                PointHistory history = histories.get(i);
+                ps.setLong(1, history.getMember().getId());
+                ps.setString(2, history.getChangeType().name());
+                ps.setBigDecimal(3, history.getAmount());
+                ps.setString(4, history.getDescription());
+                ps.setTimestamp(5, Timestamp.valueOf(history.getCreatedAt()));
+                ps.setString(6, history.getTransactionId());
+                ps.setString(7, history.getTraceId());
+                ps.setString(8, history.getSourceService() != null ? history.getSourceService().name() : null);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return histories.size();
+            }
+        });
+    }
+}
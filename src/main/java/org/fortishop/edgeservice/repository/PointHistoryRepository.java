@@ -1,15 +1,18 @@
 package org.fortishop.edgeservice.repository;
 
+import java.util.Collection;
 import java.util.List;
-import org.fortishop.edgeservice.domain.Member;
 import org.fortishop.edgeservice.domain.PointHistory;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface PointHistoryRepository extends JpaRepository<PointHistory, Long> {
-    List<PointHistory> findAllByMemberOrderByCreatedAtDesc(Member member);
-
+public interface PointHistoryRepository extends JpaRepository<PointHistory, Long>, PointHistoryRepositoryCustom {
     boolean existsByTransactionId(String transactionId);
+
+    @Query("SELECT h.transactionId FROM PointHistory h WHERE h.transactionId IN :transactionIds")
+    List<String> findExistingTransactionIds(@Param("transactionIds") Collection<String> transactionIds);
 }
 
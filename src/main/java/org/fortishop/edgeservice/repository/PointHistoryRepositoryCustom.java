@@ -0,0 +1,18 @@
+package org.fortishop.edgeservice.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.fortishop.edgeservice.domain.PointChangeType;
+import org.fortishop.edgeservice.dto.request.PointHistoryCursor;
+import org.fortishop.edgeservice.dto.response.PointHistoryResponse;
+
+public interface PointHistoryRepositoryCustom {
+    /**
+     * (created_at DESC, id DESC) keyset 페이지. 엔티티 대신 DTO 로 바로 읽는다. null 인 조건은 WHERE 절에서 빠진다.
+     *
+     * @param after 첫 페이지면 null
+     * @param limit 최대 조회 건수. 다음 페이지 여부를 알려면 페이지 크기보다 하나 크게 넘긴다.
+     */
+    List<PointHistoryResponse> findPageByMemberId(Long memberId, PointChangeType changeType, LocalDateTime from,
+                                                  LocalDateTime to, PointHistoryCursor after, int limit);
+}
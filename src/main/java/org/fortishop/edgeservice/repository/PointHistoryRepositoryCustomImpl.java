@@ -0,0 +1,60 @@
+package org.fortishop.edgeservice.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.fortishop.edgeservice.domain.PointChangeType;
+import org.fortishop.edgeservice.domain.PointHistory;
+import org.fortishop.edgeservice.dto.request.PointHistoryCursor;
+import org.fortishop.edgeservice.dto.response.PointHistoryResponse;
+
+/**
+ * 선택 조건을 (:x IS NULL OR ...) 로 묶으면 MySQL 이 (member_id, created_at, id) 인덱스를 범위 조건으로 쓰지 못한다.
+ * 주어진 조건만 WHERE 절에 넣고, 커서는 created_at &lt;= ? 범위 + 같은 시각의 id 비교로 푼다.
+ */
+@RequiredArgsConstructor
+public class PointHistoryRepositoryCustomImpl implements PointHistoryRepositoryCustom {
+    private final EntityManager entityManager;
+
+    @Override
+    public List<PointHistoryResponse> findPageByMemberId(Long memberId, PointChangeType changeType,
+                                                         LocalDateTime from, LocalDateTime to,
+                                                         PointHistoryCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<PointHistoryResponse> query = cb.createQuery(PointHistoryResponse.class);
+        Root<PointHistory> history = query.from(PointHistory.class);
+        Path<Long> id = history.get("id");
+        Path<LocalDateTime> createdAt = history.get("createdAt");
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(history.get("member").get("id"), memberId));
+        if (changeType != null) {
+            predicates.add(cb.equal(history.get("changeType"), changeType));
+        }
+        if (from != null) {
+            predicates.add(cb.greaterThanOrEqualTo(createdAt, from));
+        }
+        if (to != null) {
+            predicates.add(cb.lessThan(createdAt, to));
+        }
+        if (after != null) {
+            predicates.add(cb.lessThanOrEqualTo(createdAt, after.createdAt()));
+            predicates.add(cb.or(cb.lessThan(createdAt, after.createdAt()), cb.lessThan(id, after.id())));
+        }
+
+        query.select(cb.construct(PointHistoryResponse.class, id, history.get("changeType"),
+                        history.get("amount"), history.get("description"), createdAt))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.desc(createdAt), cb.desc(id));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
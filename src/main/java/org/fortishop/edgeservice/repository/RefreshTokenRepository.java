@@ -1,5 +1,7 @@
 package org.fortishop.edgeservice.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import org.fortishop.edgeservice.domain.Member;
 import org.fortishop.edgeservice.domain.RefreshToken;
@@ -10,5 +12,7 @@ import org.springframework.stereotype.Repository;
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
     Optional<RefreshToken> findByMember(Member member);
 
+    List<RefreshToken> findAllByMemberIdIn(Collection<Long> memberIds);
+
     void deleteByMember(Member member);
 }
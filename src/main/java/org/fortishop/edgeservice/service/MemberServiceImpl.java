@@ -5,6 +5,7 @@ import java.util.List;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import org.fortishop.edgeservice.auth.PrincipalDetails;
+import org.fortishop.edgeservice.auth.revocation.MemberTokenVersions;
 import org.fortishop.edgeservice.domain.Member;
 import org.fortishop.edgeservice.domain.MemberPoint;
 import org.fortishop.edgeservice.domain.Role;
@@ -21,6 +22,8 @@ import org.fortishop.edgeservice.repository.MemberRepository;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Service
 @RequiredArgsConstructor
@@ -29,6 +32,7 @@ public class MemberServiceImpl implements MemberService {
     private final MemberRepository memberRepository;
     private final MemberPointRepository memberPointRepository;
     private final PasswordEncoder passwordEncoder;
+    private final MemberTokenVersions memberTokenVersions;
 
     @Override
     @Transactional
@@ -99,6 +103,7 @@ public class MemberServiceImpl implements MemberService {
         }
 
         member.updatePassword(passwordEncoder.encode(request.getNewPassword()));
+        revokeAllAfterCommit(member.getId());
     }
 
     @Override
@@ -106,6 +111,7 @@ public class MemberServiceImpl implements MemberService {
     public void withdraw(PrincipalDetails principal) {
         Member member = getMember(principal.getUsername());
         member.markDeleted();
+        revokeAllAfterCommit(member.getId());
     }
 
     @Override
@@ -147,6 +153,23 @@ public class MemberServiceImpl implements MemberService {
                 .orElseThrow(() -> new MemberException(MemberExceptionType.MEMBER_NOT_FOUND));
 
         member.updateRole(newRole);
+        revokeAllAfterCommit(member.getId());
+    }
+
+    /**
+     * 토큰 폐기는 되돌릴 수 없으므로 회원 변경이 커밋된 뒤에 한다. 트랜잭션 밖에서 호출되면 바로 폐기한다.
+     */
+    private void revokeAllAfterCommit(Long memberId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            memberTokenVersions.revokeAll(memberId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                memberTokenVersions.revokeAll(memberId);
+            }
+        });
     }
 
     private void validateDuplicate(String email, String nickname) {
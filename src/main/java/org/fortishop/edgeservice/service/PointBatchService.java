@@ -0,0 +1,15 @@
+package org.fortishop.edgeservice.service;
+
+import java.util.List;
+import org.fortishop.edgeservice.dto.event.PointChangedEvent;
+
+public interface PointBatchService {
+
+    /**
+     * point.changed 이벤트 묶음을 한 트랜잭션으로 반영하고, 반영할 수 없는 이벤트를 돌려준다.
+     */
+    List<RejectedPointEvent> applyBatch(List<PointChangedEvent> events);
+
+    record RejectedPointEvent(PointChangedEvent event, String reason) {
+    }
+}
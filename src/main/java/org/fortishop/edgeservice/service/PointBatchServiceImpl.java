@@ -0,0 +1,164 @@
+package org.fortishop.edgeservice.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.fortishop.edgeservice.domain.Member;
+import org.fortishop.edgeservice.domain.MemberPoint;
+import org.fortishop.edgeservice.domain.PointChangeType;
+import org.fortishop.edgeservice.domain.PointHistory;
+import org.fortishop.edgeservice.domain.PointSourceService;
+import org.fortishop.edgeservice.dto.event.PointChangedEvent;
+import org.fortishop.edgeservice.repository.MemberPointRepository;
+import org.fortishop.edgeservice.repository.MemberRepository;
+import org.fortishop.edgeservice.repository.PointHistoryJdbcRepository;
+import org.fortishop.edgeservice.repository.PointHistoryRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * poll 한 번에 받은 이벤트를 한 트랜잭션으로 반영한다.
+ * <p>
+ * 중복 확인은 IN 쿼리 한 번, 잔액은 회원별로 잠근 뒤 변화량을 합쳐 increase / decrease 한 문장씩으로 갱신하고, 이력은 JDBC batch 로 적재한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PointBatchServiceImpl implements PointBatchService {
+    private static final Set<String> SUPPORTED_TYPES = Set.of("SAVE", "USE", "CANCEL");
+
+    private final MemberRepository memberRepository;
+    private final MemberPointRepository memberPointRepository;
+    private final PointHistoryRepository pointHistoryRepository;
+    private final PointHistoryJdbcRepository pointHistoryJdbcRepository;
+
+    @Override
+    @Transactional
+    public List<RejectedPointEvent> applyBatch(List<PointChangedEvent> events) {
+        List<RejectedPointEvent> rejected = new ArrayList<>();
+
+        // 같은 묶음 안의 중복은 처음 것만 남긴다.
+        Map<String, PointChangedEvent> byTransactionId = new LinkedHashMap<>();
+        for (PointChangedEvent event : events) {
+            if (event.getTransactionId() == null || event.getMemberId() == null || event.getAmount() == null
+                    || event.getReason() == null) {
+                rejected.add(new RejectedPointEvent(event, "필수 값이 없습니다."));
+            } else if (!isSupported(event)) {
+                rejected.add(new RejectedPointEvent(event, "지원하지 않는 이벤트입니다."));
+            } else {
+                byTransactionId.putIfAbsent(event.getTransactionId(), event);
+            }
+        }
+        if (byTransactionId.isEmpty()) {
+            return rejected;
+        }
+
+        List<String> existing = pointHistoryRepository.findExistingTransactionIds(byTransactionId.keySet());
+        if (!existing.isEmpty()) {
+            log.warn("중복된 transactionId 요청입니다: {}", existing);
+            existing.forEach(byTransactionId::remove);
+        }
+        if (byTransactionId.isEmpty()) {
+            return rejected;
+        }
+
+        Set<Long> memberIds = byTransactionId.values().stream()
+                .map(PointChangedEvent::getMemberId)
+                .collect(Collectors.toSet());
+        Map<Long, Member> members = memberRepository.findAllById(memberIds).stream()
+                .collect(Collectors.toMap(Member::getId, Function.identity()));
+        Map<Long, MemberPoint> points = lockPoints(members);
+
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, BigDecimal> balances = new HashMap<>();
+        Map<Long, BigDecimal> deltas = new HashMap<>();
+        Map<Long, List<PointChangedEvent>> accepted = new LinkedHashMap<>();
+        for (PointChangedEvent event : byTransactionId.values()) {
+            Long memberId = event.getMemberId();
+            Member member = members.get(memberId);
+            if (member == null) {
+                rejected.add(new RejectedPointEvent(event, "회원을 찾을 수 없습니다."));
+                continue;
+            }
+            MemberPoint point = points.get(memberId);
+            BigDecimal balance = balances.computeIfAbsent(memberId,
+                    id -> point != null ? point.getAmount() : BigDecimal.ZERO);
+            BigDecimal delta = delta(event);
+            if (delta.signum() < 0 && (point == null || balance.add(delta).signum() < 0)) {
+                rejected.add(new RejectedPointEvent(event, point == null ? "포인트 정보가 없습니다." : "잔액이 부족합니다."));
+                continue;
+            }
+            balances.put(memberId, balance.add(delta));
+            deltas.merge(memberId, delta, BigDecimal::add);
+            accepted.computeIfAbsent(memberId, id -> new ArrayList<>()).add(event);
+        }
+
+        // 회원마다 단건 처리와 같은 한 문장 UPDATE 로 반영한다. 행이 없으면 increase 가 만든다.
+        deltas.forEach((memberId, delta) -> {
+            if (delta.signum() > 0) {
+                memberPointRepository.increase(memberId, delta, now);
+            } else if (delta.signum() < 0 && memberPointRepository.decrease(memberId, delta.negate(), now) == 0) {
+                accepted.remove(memberId).forEach(event ->
+                        rejected.add(new RejectedPointEvent(event, "잔액이 부족합니다.")));
+            }
+        });
+
+        List<PointHistory> histories = new ArrayList<>(byTransactionId.size());
+        accepted.forEach((memberId, memberEvents) -> memberEvents.forEach(event ->
+                histories.add(toHistory(event, members.get(memberId), now))));
+        pointHistoryJdbcRepository.batchInsert(histories);
+        return rejected;
+    }
+
+    private Map<Long, MemberPoint> lockPoints(Map<Long, Member> members) {
+        if (members.isEmpty()) {
+            return new HashMap<>();
+        }
+        Map<Long, MemberPoint> points = new HashMap<>();
+        for (MemberPoint point : memberPointRepository.findAllByMemberIdInForUpdate(new HashSet<>(members.keySet()))) {
+            points.put(point.getMember().getId(), point);
+        }
+        return points;
+    }
+
+    private boolean isSupported(PointChangedEvent event) {
+        if (!SUPPORTED_TYPES.contains(event.getChangeType())) {
+            return false;
+        }
+        try {
+            PointSourceService.valueOf(event.getSourceService());
+            return true;
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return false;
+        }
+    }
+
+    private BigDecimal delta(PointChangedEvent event) {
+        return "USE".equals(event.getChangeType()) ? event.getAmount().negate() : event.getAmount();
+    }
+
+    private PointHistory toHistory(PointChangedEvent event, Member member, LocalDateTime now) {
+        boolean cancel = "CANCEL".equals(event.getChangeType());
+        return PointHistory.builder()
+                .member(member)
+                // CANCEL 은 적립금 복구라 단건 처리와 같이 SAVE 로 기록한다.
+                .changeType("USE".equals(event.getChangeType()) ? PointChangeType.USE : PointChangeType.SAVE)
+                .amount(event.getAmount())
+                .description(cancel ? "[CANCEL] " + event.getReason() : event.getReason())
+                .transactionId(event.getTransactionId())
+                .traceId(event.getTraceId())
+                .sourceService(PointSourceService.valueOf(event.getSourceService()))
+                .createdAt(now)
+                .build();
+    }
+}
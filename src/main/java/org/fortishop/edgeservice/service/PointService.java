@@ -1,10 +1,13 @@
 package org.fortishop.edgeservice.service;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
+import org.fortishop.edgeservice.domain.PointChangeType;
 import org.fortishop.edgeservice.domain.PointSourceService;
 import org.fortishop.edgeservice.dto.request.PointAdjustRequest;
 import org.fortishop.edgeservice.dto.request.PointTransferRequest;
+import org.fortishop.edgeservice.dto.response.PointHistoryPageResponse;
 import org.fortishop.edgeservice.dto.response.PointHistoryResponse;
 import org.fortishop.edgeservice.dto.response.PointResponse;
 
@@ -14,6 +17,9 @@ public interface PointService {
 
     List<PointHistoryResponse> getMyHistory(String email);
 
+    PointHistoryPageResponse getMyHistory(String email, String cursor, int size, PointChangeType changeType,
+                                          LocalDateTime from, LocalDateTime to);
+
     void savePoint(String email, BigDecimal amount, String reason,
                    String transactionId, String traceId, PointSourceService sourceService);
 
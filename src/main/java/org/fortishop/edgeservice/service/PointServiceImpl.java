@@ -1,8 +1,7 @@
 package org.fortishop.edgeservice.service;
 
-import static java.util.stream.Collectors.toList;
-
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -12,32 +11,33 @@ import org.fortishop.edgeservice.domain.PointChangeType;
 import org.fortishop.edgeservice.domain.PointHistory;
 import org.fortishop.edgeservice.domain.PointSourceService;
 import org.fortishop.edgeservice.dto.request.PointAdjustRequest;
+import org.fortishop.edgeservice.dto.request.PointHistoryCursor;
 import org.fortishop.edgeservice.dto.request.PointTransferRequest;
+import org.fortishop.edgeservice.dto.response.PointHistoryPageResponse;
 import org.fortishop.edgeservice.dto.response.PointHistoryResponse;
 import org.fortishop.edgeservice.dto.response.PointResponse;
 import org.fortishop.edgeservice.exception.Member.MemberException;
 import org.fortishop.edgeservice.exception.Member.MemberExceptionType;
+import org.fortishop.edgeservice.global.idempotency.TransactionIdempotency;
 import org.fortishop.edgeservice.repository.MemberPointRepository;
 import org.fortishop.edgeservice.repository.MemberRepository;
 import org.fortishop.edgeservice.repository.PointHistoryRepository;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class PointServiceImpl implements PointService {
+    public static final int MAX_HISTORY_PAGE_SIZE = 100;
+
     private final MemberRepository memberRepository;
     private final MemberPointRepository memberPointRepository;
     private final PointHistoryRepository pointHistoryRepository;
-
-    private boolean isDuplicateTransaction(String transactionId) {
-        boolean exists = pointHistoryRepository.existsByTransactionId(transactionId);
-        if (exists) {
-            log.warn("중복된 transactionId 요청입니다: {}", transactionId);
-        }
-        return exists;
-    }
+    private final TransactionIdempotency transactionIdempotency;
+    private final TransactionTemplate transactionTemplate;
 
     @Override
     @Transactional(readOnly = true)
@@ -52,206 +52,220 @@ public class PointServiceImpl implements PointService {
     @Override
     @Transactional(readOnly = true)
     public List<PointHistoryResponse> getMyHistory(String email) {
+        // 기존 API 는 전체 이력 대신 최근 MAX_HISTORY_PAGE_SIZE 건만 내려준다.
         Member member = getMemberByEmail(email);
-        return pointHistoryRepository.findAllByMemberOrderByCreatedAtDesc(member).stream()
-                .map(ph -> new PointHistoryResponse(
-                        ph.getChangeType(),
-                        ph.getAmount(),
-                        ph.getDescription(),
-                        ph.getCreatedAt()
-                ))
-                .collect(toList());
+        return pointHistoryRepository.findPageByMemberId(member.getId(), null, null, null, null,
+                MAX_HISTORY_PAGE_SIZE);
     }
 
     @Override
-    @Transactional
-    public void savePoint(String email, BigDecimal amount, String reason,
-                          String transactionId, String traceId, PointSourceService sourceService) {
-        // Kafka 이벤트 소비자 전용 메서드
-        if (isDuplicateTransaction(transactionId)) {
-            return;
+    @Transactional(readOnly = true)
+    public PointHistoryPageResponse getMyHistory(String email, String cursor, int size, PointChangeType changeType,
+                                                 LocalDateTime from, LocalDateTime to) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("조회 시작 시각은 종료 시각보다 이전이어야 합니다.");
         }
-
         Member member = getMemberByEmail(email);
-        MemberPoint point = memberPointRepository.findByMember(member)
-                .orElseGet(() -> memberPointRepository.save(new MemberPoint(member)));
+        PointHistoryCursor after = PointHistoryCursor.decode(cursor);
+        int pageSize = Math.min(Math.max(size, 1), MAX_HISTORY_PAGE_SIZE);
 
-        point.add(amount);
+        List<PointHistoryResponse> rows = pointHistoryRepository.findPageByMemberId(member.getId(), changeType,
+                from, to, after, pageSize + 1);
 
-        pointHistoryRepository.save(PointHistory.builder()
-                .member(member)
-                .changeType(PointChangeType.SAVE)
-                .amount(amount)
-                .description(reason)
-                .transactionId(transactionId)
-                .traceId(traceId)
-                .sourceService(sourceService)
-                .build());
+        boolean hasNext = rows.size() > pageSize;
+        List<PointHistoryResponse> histories = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasNext ? PointHistoryCursor.after(histories.get(pageSize - 1)).encode() : null;
+        return new PointHistoryPageResponse(histories, nextCursor, hasNext);
+    }
+
+    @Override
+    public void savePoint(String email, BigDecimal amount, String reason,
+                          String transactionId, String traceId, PointSourceService sourceService) {
+        // Kafka 이벤트 소비자 전용 메서드
+        executeOnce(transactionId, () -> {
+            Member member = getMemberByEmail(email);
+            saveHistory(PointHistory.builder()
+                    .member(member)
+                    .changeType(PointChangeType.SAVE)
+                    .amount(amount)
+                    .description(reason)
+                    .transactionId(transactionId)
+                    .traceId(traceId)
+                    .sourceService(sourceService)
+                    .build());
+            increase(member, amount);
+        });
     }
 
     @Override
-    @Transactional
     public void usePoint(String email, BigDecimal amount, String reason,
                          String transactionId, String traceId, PointSourceService sourceService) {
         // Kafka 이벤트 소비자 전용 메서드
-        if (isDuplicateTransaction(transactionId)) {
-            return;
-        }
-
-        Member member = getMemberByEmail(email);
-        MemberPoint point = memberPointRepository.findByMember(member)
-                .orElseThrow(() -> new IllegalStateException("포인트 정보가 없습니다."));
-
-        if (point.getAmount().compareTo(amount) < 0) {
-            throw new IllegalArgumentException("잔액이 부족합니다.");
-        }
-
-        point.subtract(amount);
-
-        pointHistoryRepository.save(PointHistory.builder()
-                .member(member)
-                .changeType(PointChangeType.USE)
-                .amount(amount)
-                .description(reason)
-                .transactionId(transactionId)
-                .traceId(traceId)
-                .sourceService(sourceService)
-                .build());
+        executeOnce(transactionId, () -> {
+            Member member = getMemberByEmail(email);
+            saveHistory(PointHistory.builder()
+                    .member(member)
+                    .changeType(PointChangeType.USE)
+                    .amount(amount)
+                    .description(reason)
+                    .transactionId(transactionId)
+                    .traceId(traceId)
+                    .sourceService(sourceService)
+                    .build());
+            decrease(member, amount, "포인트 정보가 없습니다.");
+        });
     }
 
     @Override
-    @Transactional
     public void transferPoint(String senderEmail, PointTransferRequest request,
                               PointSourceService sourceService) {
-        if (isDuplicateTransaction(request.getSenderTransactionId())) {
-            return;
-        }
-
-        Member sender = getMemberByEmail(senderEmail);
-        Member receiver = memberRepository.findById(request.getReceiverId())
-                .orElseThrow(() -> new MemberException(MemberExceptionType.MEMBER_NOT_FOUND));
-
-        BigDecimal amount = request.getAmount();
-
-        MemberPoint senderPoint = memberPointRepository.findByMember(sender)
-                .orElseThrow(() -> new IllegalStateException("보낸 사람의 포인트 정보가 없습니다."));
-        if (senderPoint.getAmount().compareTo(amount) < 0) {
-            throw new IllegalArgumentException("잔액이 부족합니다.");
-        }
-        senderPoint.subtract(amount);
-
-        MemberPoint receiverPoint = memberPointRepository.findByMember(receiver)
-                .orElseGet(() -> memberPointRepository.save(new MemberPoint(receiver)));
-        receiverPoint.add(amount);
-
-        pointHistoryRepository.save(PointHistory.builder()
-                .member(sender)
-                .changeType(PointChangeType.TRANSFER)
-                .amount(amount.negate())
-                .description("→ " + receiver.getNickname() + ": " + request.getReason())
-                .transactionId(request.getSenderTransactionId())
-                .traceId(request.getSenderTraceId())
-                .sourceService(sourceService)
-                .build());
-
-        pointHistoryRepository.save(PointHistory.builder()
-                .member(receiver)
-                .changeType(PointChangeType.SAVE)
-                .amount(amount)
-                .description("← " + sender.getNickname() + ": " + request.getReason())
-                .transactionId(request.getReceiverTransactionId())
-                .traceId(request.getSenderTraceId())
-                .sourceService(sourceService)
-                .build());
+        executeOnce(request.getSenderTransactionId(), () -> {
+            Member sender = getMemberByEmail(senderEmail);
+            Member receiver = memberRepository.findById(request.getReceiverId())
+                    .orElseThrow(() -> new MemberException(MemberExceptionType.MEMBER_NOT_FOUND));
+
+            BigDecimal amount = request.getAmount();
+
+            saveHistory(PointHistory.builder()
+                    .member(sender)
+                    .changeType(PointChangeType.TRANSFER)
+                    .amount(amount.negate())
+                    .description("→ " + receiver.getNickname() + ": " + request.getReason())
+                    .transactionId(request.getSenderTransactionId())
+                    .traceId(request.getSenderTraceId())
+                    .sourceService(sourceService)
+                    .build());
+
+            saveHistory(PointHistory.builder()
+                    .member(receiver)
+                    .changeType(PointChangeType.SAVE)
+                    .amount(amount)
+                    .description("← " + sender.getNickname() + ": " + request.getReason())
+                    .transactionId(request.getReceiverTransactionId())
+                    .traceId(request.getSenderTraceId())
+                    .sourceService(sourceService)
+                    .build());
+
+            // 반대 방향 송금끼리 교착되지 않도록 항상 member id 순서로 행을 잠근다.
+            if (sender.getId() < receiver.getId()) {
+                decrease(sender, amount, "보낸 사람의 포인트 정보가 없습니다.");
+                increase(receiver, amount);
+            } else {
+                increase(receiver, amount);
+                decrease(sender, amount, "보낸 사람의 포인트 정보가 없습니다.");
+            }
+        });
     }
 
     @Override
-    @Transactional
     public void adjustPoint(PointAdjustRequest request, String adminEmail, PointSourceService sourceService) {
-        if (isDuplicateTransaction(request.getTransactionId())) {
-            return;
-        }
-
-        Member receiver = memberRepository.findById(request.getMemberId())
-                .orElseThrow(() -> new MemberException(MemberExceptionType.MEMBER_NOT_FOUND));
-        BigDecimal amount = request.getAmount();
-        PointChangeType changeType = request.getChangeType();
-
-        MemberPoint point = memberPointRepository.findByMember(receiver)
-                .orElseGet(() -> memberPointRepository.save(new MemberPoint(receiver)));
-
-        if (changeType == PointChangeType.SAVE) {
-            point.add(amount);
-        } else if (changeType == PointChangeType.USE) {
-            if (point.getAmount().compareTo(amount) < 0) {
-                throw new IllegalArgumentException("잔액이 부족합니다.");
+        executeOnce(request.getTransactionId(), () -> {
+            Member receiver = memberRepository.findById(request.getMemberId())
+                    .orElseThrow(() -> new MemberException(MemberExceptionType.MEMBER_NOT_FOUND));
+            BigDecimal amount = request.getAmount();
+            PointChangeType changeType = request.getChangeType();
+
+            saveHistory(PointHistory.builder()
+                    .member(receiver)
+                    .changeType(changeType)
+                    .amount(amount)
+                    .description("[조정] " + request.getDescription())
+                    .transactionId(request.getTransactionId())
+                    .traceId(request.getTraceId())
+                    .sourceService(sourceService)
+                    .build());
+
+            if (changeType == PointChangeType.SAVE) {
+                increase(receiver, amount);
+            } else if (changeType == PointChangeType.USE) {
+                decrease(receiver, amount, "포인트 정보가 없습니다.");
             }
-            point.subtract(amount);
-        }
-
-        pointHistoryRepository.save(PointHistory.builder()
-                .member(receiver)
-                .changeType(changeType)
-                .amount(amount)
-                .description("[조정] " + request.getDescription())
-                .transactionId(request.getTransactionId())
-                .traceId(request.getTraceId())
-                .sourceService(sourceService)
-                .build());
+        });
     }
 
     @Override
-    @Transactional
     public void savePoint(Long memberId, BigDecimal amount, String reason,
                           String transactionId, String traceId, PointSourceService sourceService) {
-        if (isDuplicateTransaction(transactionId)) {
-            return;
-        }
-
-        Member member = getMemberById(memberId);
-        MemberPoint point = memberPointRepository.findByMember(member)
-                .orElseGet(() -> memberPointRepository.save(new MemberPoint(member)));
-
-        point.add(amount);
-
-        pointHistoryRepository.save(PointHistory.builder()
-                .member(member)
-                .changeType(PointChangeType.SAVE)
-                .amount(amount)
-                .description(reason)
-                .transactionId(transactionId)
-                .traceId(traceId)
-                .sourceService(sourceService)
-                .build());
+        executeOnce(transactionId, () -> {
+            Member member = getMemberById(memberId);
+            saveHistory(PointHistory.builder()
+                    .member(member)
+                    .changeType(PointChangeType.SAVE)
+                    .amount(amount)
+                    .description(reason)
+                    .transactionId(transactionId)
+                    .traceId(traceId)
+                    .sourceService(sourceService)
+                    .build());
+            increase(member, amount);
+        });
     }
 
     @Override
-    @Transactional
     public void usePoint(Long memberId, BigDecimal amount, String reason,
                          String transactionId, String traceId, PointSourceService sourceService) {
-        if (isDuplicateTransaction(transactionId)) {
+        executeOnce(transactionId, () -> {
+            Member member = getMemberById(memberId);
+            saveHistory(PointHistory.builder()
+                    .member(member)
+                    .changeType(PointChangeType.USE)
+                    .amount(amount)
+                    .description(reason)
+                    .transactionId(transactionId)
+                    .traceId(traceId)
+                    .sourceService(sourceService)
+                    .build());
+            decrease(member, amount, "포인트 정보가 없습니다.");
+        });
+    }
+
+    /**
+     * transactionId 당 한 번만 work 를 한 트랜잭션으로 실행한다.
+     * <p>
+     * 커밋된 transactionId 는 로컬 LRU 와 Redis done 표시로 SQL 없이 거르고, 처리 중이거나 확인할 수 없는 중복은 이력 insert 의 유니크 제약 위반으로 걸러낸다.
+     * 제약 위반은 트랜잭션이 롤백된 뒤 바깥에서 잡아야 하므로 @Transactional 대신 TransactionTemplate 을 쓴다.
+     */
+    private void executeOnce(String transactionId, Runnable work) {
+        TransactionIdempotency.Claim claim = transactionIdempotency.tryClaim(transactionId);
+        if (claim.done()) {
+            log.warn("중복된 transactionId 요청입니다: {}", transactionId);
             return;
         }
-
-        Member member = getMemberById(memberId);
-        MemberPoint point = memberPointRepository.findByMember(member)
-                .orElseThrow(() -> new IllegalStateException("포인트 정보가 없습니다."));
-
-        if (point.getAmount().compareTo(amount) < 0) {
-            throw new IllegalArgumentException("잔액이 부족합니다.");
+        try {
+            transactionTemplate.executeWithoutResult(status -> work.run());
+        } catch (DataIntegrityViolationException e) {
+            if (!TransactionIdempotency.isDuplicateKey(e)) {
+                transactionIdempotency.release(transactionId, claim);
+                throw e;
+            }
+            log.warn("중복된 transactionId 요청입니다: {}", transactionId);
+        } catch (RuntimeException e) {
+            transactionIdempotency.release(transactionId, claim);
+            throw e;
         }
+        transactionIdempotency.confirm(transactionId);
+    }
+
+    // 잔액보다 이력을 먼저 flush 해 중복이면 잔액을 건드리기 전에 유니크 제약에 걸리게 한다.
+    private void saveHistory(PointHistory history) {
+        pointHistoryRepository.saveAndFlush(history);
+    }
 
-        point.subtract(amount);
+    private void increase(Member member, BigDecimal amount) {
+        memberPointRepository.increase(member.getId(), amount, LocalDateTime.now());
+    }
 
-        pointHistoryRepository.save(PointHistory.builder()
-                .member(member)
-                .changeType(PointChangeType.USE)
-                .amount(amount)
-                .description(reason)
-                .transactionId(transactionId)
-                .traceId(traceId)
-                .sourceService(sourceService)
-                .build());
+    /**
+     * 잔액 확인과 차감을 조건부 UPDATE 한 문장으로 처리한다. 갱신된 행이 없을 때만 원인을 확인한다.
+     */
+    private void decrease(Member member, BigDecimal amount, String missingMessage) {
+        if (memberPointRepository.decrease(member.getId(), amount, LocalDateTime.now()) > 0) {
+            return;
+        }
+        if (!memberPointRepository.existsByMemberId(member.getId())) {
+            throw new IllegalStateException(missingMessage);
+        }
+        throw new IllegalArgumentException("잔액이 부족합니다.");
     }
 
     private Member getMemberById(Long memberId) {
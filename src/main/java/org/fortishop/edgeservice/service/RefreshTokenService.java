@@ -9,5 +9,7 @@ public interface RefreshTokenService {
 
     void logout(String refreshToken, String accessToken);
 
-    void save(String email, String refreshToken, LocalDateTime expiresAt);
+    void logoutAll(String accessToken);
+
+    void save(Long memberId, String deviceId, String refreshToken, LocalDateTime expiresAt);
 }
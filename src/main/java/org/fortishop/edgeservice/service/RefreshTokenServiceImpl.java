@@ -5,23 +5,20 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.time.Duration;
 import java.time.LocalDateTime;
-import java.time.ZoneId;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.fortishop.edgeservice.auth.PrincipalDetails;
-import org.fortishop.edgeservice.auth.jwt.JwtProperties;
 import org.fortishop.edgeservice.auth.jwt.JwtTokenProvider;
+import org.fortishop.edgeservice.auth.refresh.RefreshTokenStore;
+import org.fortishop.edgeservice.auth.revocation.MemberTokenVersions;
+import org.fortishop.edgeservice.auth.revocation.TokenBlacklist;
 import org.fortishop.edgeservice.domain.Member;
-import org.fortishop.edgeservice.domain.RefreshToken;
 import org.fortishop.edgeservice.exception.Member.MemberException;
 import org.fortishop.edgeservice.exception.Member.MemberExceptionType;
 import org.fortishop.edgeservice.exception.Token.TokenException;
 import org.fortishop.edgeservice.exception.Token.TokenExceptionType;
-import org.fortishop.edgeservice.global.redis.RedisService;
 import org.fortishop.edgeservice.repository.MemberRepository;
-import org.fortishop.edgeservice.repository.RefreshTokenRepository;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 @Slf4j
 @Service
@@ -30,12 +27,11 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
 
     private final JwtTokenProvider jwtTokenProvider;
     private final MemberRepository memberRepository;
-    private final RefreshTokenRepository refreshTokenRepository;
-    private final JwtProperties jwtProperties;
-    private final RedisService redisService;
+    private final RefreshTokenStore refreshTokenStore;
+    private final TokenBlacklist tokenBlacklist;
+    private final MemberTokenVersions memberTokenVersions;
 
     @Override
-    @Transactional
     public void reissueAccessToken(HttpServletRequest request, HttpServletResponse response) {
         String refreshToken = jwtTokenProvider.resolveRefreshToken(request);
         if (refreshToken == null) {
@@ -47,29 +43,28 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
         }
 
         Claims claims = jwtTokenProvider.parseClaims(refreshToken);
-        String email = claims.getSubject();
+        Long memberId = getMemberId(claims);
 
-        Member member = memberRepository.findByEmail(email)
-                .orElseThrow(() -> new MemberException(MemberExceptionType.MEMBER_NOT_FOUND));
-
-        RefreshToken stored = refreshTokenRepository.findByMember(member)
-                .orElseThrow(() -> new TokenException(TokenExceptionType.REFRESH_TOKEN_NOT_FOUND));
-
-        if (!stored.getToken().equals(refreshToken)) {
-            throw new TokenException(TokenExceptionType.TOKEN_MISMATCH);
+        long tokenVersion = memberTokenVersions.current(memberId);
+        if (memberTokenVersions.versionOf(claims) < tokenVersion) {
+            throw new TokenException(TokenExceptionType.TOKEN_REVOKED);
         }
 
+        String deviceId = jwtTokenProvider.getDeviceId(claims);
+        // 쓰기 없이 PK 조회만 한다. 권한은 항상 최신 값으로 발급한다.
+        Member member = memberRepository.findById(memberId)
+                .filter(found -> !found.isDeleted())
+                .orElseThrow(() -> new MemberException(MemberExceptionType.MEMBER_NOT_FOUND));
         var principalDetails = PrincipalDetails.of(member.getId(), member.getEmail(), member.getRole().name());
-        var newToken = jwtTokenProvider.generateTokenDto(principalDetails);
-
-        stored.updateToken(
-                newToken.getRefreshToken(),
-                jwtTokenProvider.getRefreshExpirationDate().toInstant()
-                        .atZone(ZoneId.systemDefault())
-                        .toLocalDateTime()
-        );
-
-        refreshTokenRepository.save(stored);
+        var newToken = jwtTokenProvider.generateTokenDto(principalDetails, tokenVersion, deviceId);
+
+        Duration ttl = Duration.ofMillis(newToken.getRefreshTokenExpiresIn() - System.currentTimeMillis());
+        switch (refreshTokenStore.rotate(memberId, deviceId, refreshToken, newToken.getRefreshToken(), ttl)) {
+            case NOT_FOUND -> throw new TokenException(TokenExceptionType.REFRESH_TOKEN_NOT_FOUND);
+            case MISMATCH -> throw new TokenException(TokenExceptionType.TOKEN_MISMATCH);
+            case ROTATED -> {
+            }
+        }
 
         jwtTokenProvider.accessTokenSetHeader(newToken.getAccessToken(), response);
         jwtTokenProvider.setTokenCookie("refreshToken", newToken.getRefreshToken(), response);
@@ -78,50 +73,48 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
     }
 
     @Override
-    @Transactional
     public void logout(String refreshToken, String accessToken) {
         if (accessToken == null || accessToken.isBlank() || refreshToken == null || refreshToken.isBlank()) {
             throw new TokenException(TokenExceptionType.TOKEN_INVALID);
         }
 
         Claims claims = jwtTokenProvider.parseClaims(accessToken);
-        String email = claims.getSubject();
+        Claims refreshClaims = jwtTokenProvider.parseClaims(refreshToken);
 
-        Member member = memberRepository.findByEmail(email)
-                .orElseThrow(() -> new MemberException(MemberExceptionType.MEMBER_NOT_FOUND));
+        refreshTokenStore.delete(getMemberId(claims), jwtTokenProvider.getDeviceId(refreshClaims));
 
-        RefreshToken stored = refreshTokenRepository.findByMember(member)
-                .orElseThrow(() -> new TokenException(TokenExceptionType.REFRESH_TOKEN_NOT_FOUND));
+        tokenBlacklist.revoke(claims, accessToken);
 
-        refreshTokenRepository.delete(stored);
+        log.info("[Logout] {} 로그아웃 성공. RefreshToken 삭제, AccessToken 블랙리스트 등록", claims.getSubject());
+    }
 
-        long accessTokenExpirationMillis = jwtProperties.getAccessTokenValidity();
-        redisService.setValues(accessToken, "logout", Duration.ofMillis(accessTokenExpirationMillis));
+    @Override
+    public void logoutAll(String accessToken) {
+        if (accessToken == null || accessToken.isBlank()) {
+            throw new TokenException(TokenExceptionType.TOKEN_INVALID);
+        }
+
+        Claims claims = jwtTokenProvider.parseClaims(accessToken);
+        Long memberId = getMemberId(claims);
 
-        log.info("[Logout] {} 로그아웃 성공. RefreshToken 삭제, AccessToken 블랙리스트 등록", email);
+        refreshTokenStore.deleteAll(memberId);
+        memberTokenVersions.revokeAll(memberId);
+
+        log.info("[Logout] {} 전체 기기 로그아웃 성공. 토큰 버전 갱신", claims.getSubject());
     }
 
     @Override
-    @Transactional
-    public void save(String email, String refreshToken, LocalDateTime expiresAt) {
-        Member member = memberRepository.findByEmail(email)
-                .orElseThrow(() -> new MemberException(MemberExceptionType.MEMBER_NOT_FOUND));
-        refreshTokenRepository.findByMember(member)
-                .ifPresentOrElse(
-                        existing -> {
-                            existing.updateToken(refreshToken, expiresAt);
-                            refreshTokenRepository.save(existing);
-                        },
-                        () -> {
-                            RefreshToken token = RefreshToken.builder()
-                                    .member(member)
-                                    .token(refreshToken)
-                                    .expiresAt(expiresAt)
-                                    .build();
-                            refreshTokenRepository.save(token);
-                        }
-                );
-        
-        log.info("[RefreshTokenService] refresh token 저장 완료: {}", member.getEmail());
+    public void save(Long memberId, String deviceId, String refreshToken, LocalDateTime expiresAt) {
+        refreshTokenStore.save(memberId, deviceId, refreshToken, Duration.between(LocalDateTime.now(), expiresAt));
+
+        log.info("[RefreshTokenService] refresh token 저장 완료: {}", memberId);
+    }
+
+    private Long getMemberId(Claims claims) {
+        Object memberId = claims.get("memberId");
+        if (memberId == null) {
+            throw new TokenException(TokenExceptionType.TOKEN_INVALID);
+        }
+        return ((Number) memberId).longValue();
     }
 }
@@ -0,0 +1,31 @@
+-- KEYS[1]: gcra:{key}
+-- ARGV[1]: now(ms), ARGV[2]: capacity, ARGV[3]: refill rate(초당), ARGV[4]: 사용하지 않음, ARGV[5]: 요청 토큰 수
+-- 키에는 theoretical arrival time(μs) 정수 하나만 저장한다.
+-- return: { 실제로 가져간 토큰 수 (0 = 거절), 남은 토큰 수, 다음 토큰이 생길 때까지의 시간(ms) }
+local now = tonumber(ARGV[1]) * 1000
+local interval = 1000000 / tonumber(ARGV[3])
+local tolerance = interval * tonumber(ARGV[2])
+local requested = tonumber(ARGV[5])
+
+local tat = tonumber(redis.call('GET', KEYS[1]))
+if tat == nil or tat < now then
+    tat = now
+end
+
+local granted = math.min(math.floor((now + tolerance - tat) / interval), requested)
+if granted >= 1 then
+    tat = math.floor(tat + granted * interval)
+    -- TAT 가 지나면 키가 없어도 "가득 찬 버킷"과 같다.
+    local ttl = math.max(1, math.ceil((tat - now) / 1000))
+    redis.call('SET', KEYS[1], string.format('%d', tat), 'PX', ttl)
+else
+    granted = 0
+end
+
+local headroom = now + tolerance - tat
+local remaining = math.floor(headroom / interval)
+local reset = 0
+if tat > now then
+    reset = math.ceil(((remaining + 1) * interval - headroom) / 1000)
+end
+return { granted, remaining, reset }
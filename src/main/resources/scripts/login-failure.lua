@@ -0,0 +1,26 @@
+-- 한 대상(계정 또는 IP)의 실패를 기록한다. 세 키는 같은 해시 태그를 써서 클러스터에서도 한 슬롯에 모인다.
+-- KEYS[1]: failure, KEYS[2]: lock, KEYS[3]: level
+-- ARGV[1]: now(ms), ARGV[2]: failure window(ms), ARGV[3]: threshold,
+-- ARGV[4]: base lockout(ms), ARGV[5]: max lockout(ms), ARGV[6]: level ttl(ms)
+-- return: 잠금이 걸렸다면 잠금 해제 시각(ms), 아니면 0
+local now = tonumber(ARGV[1])
+local window = tonumber(ARGV[2])
+local threshold = tonumber(ARGV[3])
+local base = tonumber(ARGV[4])
+local max = tonumber(ARGV[5])
+local levelTtl = tonumber(ARGV[6])
+
+local failures = redis.call('INCR', KEYS[1])
+if failures == 1 then
+    redis.call('PEXPIRE', KEYS[1], window)
+end
+if failures < threshold then
+    return 0
+end
+local level = redis.call('INCR', KEYS[3])
+redis.call('PEXPIRE', KEYS[3], levelTtl)
+local lockout = math.min(base * 2 ^ (level - 1), max)
+local lockedUntil = now + lockout
+redis.call('SET', KEYS[2], string.format('%d', lockedUntil), 'PX', string.format('%d', lockout))
+redis.call('DEL', KEYS[1])
+return lockedUntil
@@ -0,0 +1,11 @@
+-- KEYS[1]: rtq:{pending}
+-- ARGV: memberId, 반영한 값 쌍의 나열
+-- 반영하는 동안 바뀌지 않은 항목만 지운다. return 지운 항목 수
+local removed = 0
+for i = 1, #ARGV, 2 do
+    if redis.call('HGET', KEYS[1], ARGV[i]) == ARGV[i + 1] then
+        redis.call('HDEL', KEYS[1], ARGV[i])
+        removed = removed + 1
+    end
+end
+return removed
@@ -0,0 +1,19 @@
+-- KEYS[1]: rtq:{pending}
+-- ARGV[1]: memberId, ARGV[2]: presented token hash, ARGV[3]: "<new token hash>:<expiresAt epoch ms>", ARGV[4]: now(ms)
+-- return 1 = rotated, 0 = not queued (DB 를 확인한다), -1 = mismatch, -2 = deleted or expired
+local current = redis.call('HGET', KEYS[1], ARGV[1])
+if not current then
+    return 0
+end
+if current == '-' then
+    return -2
+end
+local separator = string.find(current, ':', 1, true)
+if tonumber(string.sub(current, separator + 1)) <= tonumber(ARGV[4]) then
+    return -2
+end
+if string.sub(current, 1, separator - 1) ~= ARGV[2] then
+    return -1
+end
+redis.call('HSET', KEYS[1], ARGV[1], ARGV[3])
+return 1
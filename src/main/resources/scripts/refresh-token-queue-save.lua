@@ -0,0 +1,8 @@
+-- KEYS[1]: rtq:{pending}
+-- ARGV[1]: memberId, ARGV[2]: "<token hash>:<expiresAt epoch ms>", ARGV[3]: max pending
+-- return 1 = queued, 0 = queue full (호출자가 DB 에 바로 쓴다)
+if redis.call('HEXISTS', KEYS[1], ARGV[1]) == 0 and redis.call('HLEN', KEYS[1]) >= tonumber(ARGV[3]) then
+    return 0
+end
+redis.call('HSET', KEYS[1], ARGV[1], ARGV[2])
+return 1
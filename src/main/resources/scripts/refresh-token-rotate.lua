@@ -0,0 +1,16 @@
+-- KEYS[1]: rt:{memberId}:{deviceId}, KEYS[2]: rt:{memberId}
+-- ARGV[1]: presented token hash, ARGV[2]: new token hash, ARGV[3]: ttl(ms)
+-- return 1 = rotated, 0 = not found, -1 = mismatch
+local current = redis.call('GET', KEYS[1])
+if not current then
+    return 0
+end
+if current ~= ARGV[1] then
+    return -1
+end
+local ttl = tonumber(ARGV[3])
+redis.call('SET', KEYS[1], ARGV[2], 'PX', ttl)
+if redis.call('PTTL', KEYS[2]) < ttl then
+    redis.call('PEXPIRE', KEYS[2], ttl)
+end
+return 1
@@ -0,0 +1,9 @@
+-- KEYS[1]: rt:{memberId}:{deviceId}, KEYS[2]: rt:{memberId}
+-- ARGV[1]: token hash, ARGV[2]: deviceId, ARGV[3]: ttl(ms)
+local ttl = tonumber(ARGV[3])
+redis.call('SET', KEYS[1], ARGV[1], 'PX', ttl)
+redis.call('SADD', KEYS[2], ARGV[2])
+if redis.call('PTTL', KEYS[2]) < ttl then
+    redis.call('PEXPIRE', KEYS[2], ttl)
+end
+return 1
@@ -0,0 +1,35 @@
+-- KEYS[1]: tokenbucket:{key} (기본 정책) 또는 tokenbucket:{policy}:{key}
+-- ARGV[1]: now(ms), ARGV[2]: capacity, ARGV[3]: refill rate(초당), ARGV[4]: ttl(ms), ARGV[5]: 요청 토큰 수
+-- return: { 실제로 가져간 토큰 수 (0 = 거절), 남은 토큰 수, 다음 토큰이 생길 때까지의 시간(ms) }
+-- 남은 토큰이 요청보다 적으면 남은 만큼만 준다.
+local bucket = redis.call('HMGET', KEYS[1], 'tokens', 'last_refill')
+local tokens = tonumber(bucket[1])
+local last_refill = tonumber(bucket[2])
+local now = tonumber(ARGV[1])
+local capacity = tonumber(ARGV[2])
+local refill_rate = tonumber(ARGV[3])
+local requested = tonumber(ARGV[5])
+
+if tokens == nil then
+    tokens = capacity
+    last_refill = now
+end
+
+-- 소수점 이하 토큰도 유지해야 짧은 간격의 요청에서 충전이 누락되지 않는다.
+local elapsed = math.max(0, now - last_refill)
+tokens = math.min(capacity, tokens + elapsed / 1000 * refill_rate)
+
+local granted = math.min(math.floor(tokens), requested)
+if granted >= 1 then
+    tokens = tokens - granted
+    redis.call('HSET', KEYS[1], 'tokens', tokens, 'last_refill', now)
+    redis.call('PEXPIRE', KEYS[1], ARGV[4])
+else
+    granted = 0
+end
+
+local reset = 0
+if tokens < capacity then
+    reset = math.ceil((1 - (tokens - math.floor(tokens))) / refill_rate * 1000)
+end
+return { granted, math.floor(tokens), reset }
@@ -28,7 +28,6 @@ import org.apache.kafka.common.serialization.StringSerializer;
 import org.fortishop.edgeservice.domain.Member;
 import org.fortishop.edgeservice.domain.MemberPoint;
 import org.fortishop.edgeservice.domain.PointSourceService;
-import org.fortishop.edgeservice.domain.RefreshToken;
 import org.fortishop.edgeservice.domain.Role;
 import org.fortishop.edgeservice.dto.event.PointChangedEvent;
 import org.fortishop.edgeservice.dto.request.LoginRequest;
@@ -40,7 +39,6 @@ import org.fortishop.edgeservice.dto.response.MemberUpdateNicknameResponse;
 import org.fortishop.edgeservice.repository.MemberPointRepository;
 import org.fortishop.edgeservice.repository.MemberRepository;
 import org.fortishop.edgeservice.repository.PointHistoryRepository;
-import org.fortishop.edgeservice.repository.RefreshTokenRepository;
 import org.fortishop.edgeservice.service.PointService;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
@@ -99,9 +97,6 @@ public class EdgeServiceIntegrationTest {
     @Autowired
     MemberPointRepository memberPointRepository;
 
-    @Autowired
-    RefreshTokenRepository refreshTokenRepository;
-
     @Autowired
     PointHistoryRepository pointHistoryRepository;
 
@@ -185,6 +180,7 @@ public class EdgeServiceIntegrationTest {
     }
 
     private String accessToken;
+    private String refreshTokenCookie;
 
     private String getBaseUrl() {
         return "http://localhost:" + port + "/api/members";
@@ -228,6 +224,7 @@ public class EdgeServiceIntegrationTest {
         } else {
             throw new RuntimeException("AccessToken 헤더가 존재하지 않거나 형식이 잘못됨");
         }
+        refreshTokenCookie = loginRes.getHeaders().getFirst(HttpHeaders.SET_COOKIE);
 
         System.out.println("AccessToken: " + accessToken);
     }
@@ -342,9 +339,8 @@ public class EdgeServiceIntegrationTest {
     @Test
     @DisplayName("AccessToken 재발급에 성공한다")
     void reissueAccessToken_success() {
-        RefreshToken refreshToken = getRefreshTokenFromDB();
         HttpHeaders headers = new HttpHeaders();
-        headers.set(HttpHeaders.COOKIE, "refreshToken=" + refreshToken.getToken());
+        headers.set(HttpHeaders.COOKIE, refreshTokenCookie);
 
         HttpEntity<?> entity = new HttpEntity<>(headers);
         ResponseEntity<String> response = restTemplate.exchange(
@@ -358,10 +354,8 @@ public class EdgeServiceIntegrationTest {
     @Test
     @DisplayName("로그아웃에 성공한다")
     void logout_success() {
-        RefreshToken refreshToken = getRefreshTokenFromDB();
-
         HttpHeaders headers = new HttpHeaders();
-        headers.set(HttpHeaders.COOKIE, "refreshToken=" + refreshToken.getToken());
+        headers.set(HttpHeaders.COOKIE, refreshTokenCookie);
         headers.setBearerAuth(accessToken);
 
         HttpEntity<?> entity = new HttpEntity<>(headers);
@@ -800,14 +794,6 @@ public class EdgeServiceIntegrationTest {
                 });
     }
 
-    private RefreshToken getRefreshTokenFromDB() {
-        Member member = memberRepository.findByEmail("test@fortishop.com")
-                .orElseThrow(() -> new IllegalArgumentException("회원 없음: " + "test@fortishop.com"));
-
-        return refreshTokenRepository.findByMember(member)
-                .orElseThrow(() -> new IllegalArgumentException("RefreshToken 없음: " + "test@fortishop.com"));
-    }
-
     private String savePoint(Long memberId, int amount) {
         String uniqueId = String.valueOf(System.currentTimeMillis());
         String email = "admin-" + uniqueId + "@fortishop.com";
@@ -0,0 +1,81 @@
+package org.fortishop.edgeservice.auth.attempt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.any;
+import static org.mockito.BDDMockito.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+class LoginAttemptLimiterTest {
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private LoginAttemptLimiter loginAttemptLimiter;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        given(stringRedisTemplate.opsForValue()).willReturn(valueOperations);
+        loginAttemptLimiter = new LoginAttemptLimiter(stringRedisTemplate, new LoginAttemptProperties());
+    }
+
+    @Test
+    @DisplayName("계정이나 IP 중 하나라도 잠겨 있으면 남은 잠금 시간과 함께 거절한다")
+    void check_locked() {
+        String lockedUntil = String.valueOf(System.currentTimeMillis() + 30_000L);
+        given(valueOperations.multiGet(anyList())).willReturn(Arrays.asList(null, lockedUntil));
+
+        assertThatThrownBy(() -> loginAttemptLimiter.check("user@a.com", "10.0.0.1"))
+                .isInstanceOf(LoginLockedException.class)
+                .extracting("retryAfterSeconds")
+                .isEqualTo(30L);
+    }
+
+    @Test
+    @DisplayName("잠금이 없거나 Redis 장애 시에는 통과시킨다")
+    void check_notLocked() {
+        given(valueOperations.multiGet(anyList())).willReturn(Arrays.asList(null, null));
+        assertThatCode(() -> loginAttemptLimiter.check("user@a.com", "10.0.0.1")).doesNotThrowAnyException();
+
+        given(valueOperations.multiGet(anyList())).willThrow(new QueryTimeoutException("timeout"));
+        assertThatCode(() -> loginAttemptLimiter.check("user@a.com", "10.0.0.1")).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("실패 기록 스크립트는 호출마다 같은 해시 태그의 키만 사용한다")
+    @SuppressWarnings("unchecked")
+    void onFailure_keysShareHashTag() {
+        ArgumentCaptor<List<String>> keys = ArgumentCaptor.forClass(List.class);
+
+        loginAttemptLimiter.onFailure("user@a.com", "10.0.0.1");
+
+        verify(stringRedisTemplate, times(2)).execute(any(RedisScript.class), keys.capture(), any(Object[].class));
+        assertThat(keys.getAllValues()).allSatisfy(scriptKeys -> assertThat(scriptKeys)
+                .extracting(LoginAttemptLimiterTest::hashTag)
+                .containsOnly(hashTag(scriptKeys.get(0))));
+        assertThat(hashTag(keys.getAllValues().get(1).get(0))).isEqualTo("i:10.0.0.1");
+    }
+
+    private static String hashTag(String key) {
+        return key.substring(key.indexOf('{') + 1, key.indexOf('}'));
+    }
+}
@@ -0,0 +1,77 @@
+package org.fortishop.edgeservice.auth.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import org.fortishop.edgeservice.auth.PrincipalAuthentication;
+import org.fortishop.edgeservice.auth.PrincipalDetails;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.servlet.function.ServerRequest;
+
+class MemberHeadersFilterTest {
+
+    private final MemberHeadersFilter memberHeadersFilter = new MemberHeadersFilter();
+    private final ServerRequest request = mock(ServerRequest.class);
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("인증된 회원의 id / role 을 헤더 이름 대소문자와 관계없이 덮어쓰고, 쓰기 가능한 헤더는 복사하지 않는다")
+    void apply_authenticated() {
+        // given
+        SecurityContextHolder.getContext().setAuthentication(
+                new PrincipalAuthentication(PrincipalDetails.of(7L, "user@a.com", "ROLE_USER")));
+        HttpHeaders input = new HttpHeaders();
+        input.add("X-Member-Id", "1");
+        input.add("Accept", "application/json");
+
+        // when
+        HttpHeaders result = memberHeadersFilter.apply(input, request);
+
+        // then
+        assertThat(result.get("x-member-id")).containsExactly("7");
+        assertThat(result.getFirst("X-MEMBER-ROLE")).isEqualTo("ROLE_USER");
+        assertThat(result.getFirst("Accept")).isEqualTo("application/json");
+        assertThat(result).isSameAs(input);
+    }
+
+    @Test
+    @DisplayName("읽기 전용 헤더가 들어오면 복사본에 쓰고 입력은 바꾸지 않는다")
+    void apply_readOnlyInput_copies() {
+        // given
+        SecurityContextHolder.getContext().setAuthentication(
+                new PrincipalAuthentication(PrincipalDetails.of(7L, "user@a.com", "ROLE_USER")));
+        HttpHeaders input = HttpHeaders.readOnlyHttpHeaders(headers("X-Member-Id", "1"));
+
+        // when
+        HttpHeaders result = memberHeadersFilter.apply(input, request);
+
+        // then
+        assertThat(result).isNotSameAs(input);
+        assertThat(result.getFirst("x-member-id")).isEqualTo("7");
+        assertThat(input.getFirst("X-Member-Id")).isEqualTo("1");
+    }
+
+    @Test
+    @DisplayName("인증되지 않은 요청의 위조된 회원 헤더는 제거한다")
+    void apply_anonymous_stripsSpoofedHeaders() {
+        HttpHeaders input = HttpHeaders.readOnlyHttpHeaders(headers("X-Member-Role", "ROLE_ADMIN"));
+
+        HttpHeaders result = memberHeadersFilter.apply(input, request);
+
+        assertThat(result.containsKey("x-member-role")).isFalse();
+    }
+
+    private HttpHeaders headers(String name, String value) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(name, value);
+        return headers;
+    }
+}
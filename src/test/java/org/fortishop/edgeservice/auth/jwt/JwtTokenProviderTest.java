@@ -2,6 +2,7 @@ package org.fortishop.edgeservice.auth.jwt;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -16,20 +17,24 @@ import org.fortishop.edgeservice.exception.Token.TokenException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.core.Authentication;
 
 class JwtTokenProviderTest {
 
     private JwtTokenProvider jwtTokenProvider;
+    private JwtProperties jwtProperties;
+    private JwtVerifier jwtVerifier;
 
     @BeforeEach
     void setUp() {
-        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties = new JwtProperties();
         jwtProperties.setSecret("my-super-secure-very-long-jwt-secret-key-which-is-at-least-32-bytes");
         jwtProperties.setAccessTokenValidity(1000L * 60 * 30);  // 30분
         jwtProperties.setRefreshTokenValidity(1000L * 60 * 60 * 24 * 7);  // 7일
 
-        jwtTokenProvider = new JwtTokenProvider(jwtProperties);
-        jwtTokenProvider.init(); // @PostConstruct 수동 호출
+        jwtVerifier = new JwtVerifier(jwtProperties);
+        jwtTokenProvider = new JwtTokenProvider(jwtProperties, jwtVerifier);
     }
 
 
@@ -40,7 +45,7 @@ class JwtTokenProviderTest {
         PrincipalDetails principal = PrincipalDetails.of(1L, "test@example.com", "ROLE_USER");
 
         // when
-        TokenDto token = jwtTokenProvider.generateTokenDto(principal);
+        TokenDto token = jwtTokenProvider.generateTokenDto(principal, 0L, "device-1");
         Claims claims = jwtTokenProvider.parseClaims(token.getAccessToken());
 
         // then
@@ -50,6 +55,26 @@ class JwtTokenProviderTest {
         assertEquals("test@example.com", claims.getSubject());
     }
 
+    @Test
+    @DisplayName("토큰으로 만든 인증 객체는 Role 별로 미리 만든 권한 목록을 공유한다")
+    void getAuthentication_sharesRoleAuthorities() {
+        // given
+        PrincipalDetails principal = PrincipalDetails.of(1L, "test@example.com", "ROLE_USER");
+        TokenDto token = jwtTokenProvider.generateTokenDto(principal, 0L, "device-1");
+        Claims claims = jwtTokenProvider.verify(token.getAccessToken());
+
+        // when
+        Authentication first = jwtTokenProvider.getAuthentication(claims);
+        Authentication second = jwtTokenProvider.getAuthentication(claims);
+
+        // then
+        PrincipalDetails restored = (PrincipalDetails) first.getPrincipal();
+        assertEquals(1L, restored.getId());
+        assertEquals("ROLE_USER", restored.getRoleName());
+        assertSame(first.getAuthorities(), second.getAuthorities());
+        assertSame(principal.getAuthorities(), first.getAuthorities());
+    }
+
     @Test
     @DisplayName("만료된 토큰 검증 실패")
     void validateExpiredToken_fail() {
@@ -66,5 +91,93 @@ class JwtTokenProviderTest {
         // then
         assertThrows(TokenException.class, () -> jwtTokenProvider.validateToken(expiredToken));
     }
-}
 
+    @Test
+    @DisplayName("같은 토큰은 캐시된 Claims를 재사용한다")
+    void verifySameToken_returnsCachedClaims() {
+        // given
+        PrincipalDetails principal = PrincipalDetails.of(1L, "test@example.com", "ROLE_USER");
+        TokenDto token = jwtTokenProvider.generateTokenDto(principal, 0L, "device-1");
+
+        // when
+        Claims first = jwtTokenProvider.verify(token.getAccessToken());
+        Claims second = jwtTokenProvider.verify(token.getAccessToken());
+
+        // then
+        assertSame(first, second);
+    }
+
+    @Test
+    @DisplayName("요청당 한 번 검증한 Claims를 요청 속성에 저장한다")
+    void resolveVerifiedClaims_storesClaimsOnRequest() {
+        // given
+        PrincipalDetails principal = PrincipalDetails.of(1L, "test@example.com", "ROLE_USER");
+        TokenDto token = jwtTokenProvider.generateTokenDto(principal, 0L, "device-1");
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token.getAccessToken());
+
+        // when
+        Claims claims = jwtTokenProvider.resolveVerifiedClaims(request);
+
+        // then
+        assertSame(claims, request.getAttribute(JwtTokenProvider.VERIFIED_CLAIMS_ATTRIBUTE));
+        assertEquals(1L, ((Number) claims.get("memberId")).longValue());
+    }
+
+    @Test
+    @DisplayName("검증 실패 결과도 요청 속성에 저장되어 재검증하지 않는다")
+    void resolveVerifiedClaims_invalidToken_rethrowsStoredFailure() {
+        // given
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer fake.access.token");
+
+        // then
+        TokenException first = assertThrows(TokenException.class,
+                () -> jwtTokenProvider.resolveVerifiedClaims(request));
+        TokenException second = assertThrows(TokenException.class,
+                () -> jwtTokenProvider.resolveVerifiedClaims(request));
+        assertSame(first, second);
+    }
+
+    @Test
+    @DisplayName("서명 키를 교체해도 기존 kid로 서명된 토큰은 검증된다")
+    void rotateKey_oldTokenStillValid() {
+        // given
+        PrincipalDetails principal = PrincipalDetails.of(1L, "test@example.com", "ROLE_USER");
+        TokenDto oldToken = jwtTokenProvider.generateTokenDto(principal, 0L, "device-1");
+
+        // when: 새 키를 추가하고 활성 키로 지정
+        jwtProperties.getKeys().put("2025-01", "another-super-secure-very-long-jwt-secret-key-for-rotation");
+        jwtProperties.setActiveKeyId("2025-01");
+        jwtVerifier.reload();
+        TokenDto newToken = jwtTokenProvider.generateTokenDto(principal, 0L, "device-1");
+
+        // then
+        assertTrue(jwtTokenProvider.validateToken(oldToken.getAccessToken()));
+        assertTrue(jwtTokenProvider.validateToken(newToken.getAccessToken()));
+        assertEquals("2025-01", Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(
+                        "another-super-secure-very-long-jwt-secret-key-for-rotation".getBytes()))
+                .build()
+                .parseClaimsJws(newToken.getAccessToken())
+                .getHeader()
+                .getKeyId());
+    }
+
+    @Test
+    @DisplayName("등록되지 않은 kid로 서명된 토큰은 검증에 실패한다")
+    void unknownKeyId_fail() {
+        // given
+        String token = Jwts.builder()
+                .setHeaderParam("kid", "unknown")
+                .setSubject("test@example.com")
+                .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60))
+                .signWith(Keys.hmacShaKeyFor(
+                        "my-super-secure-very-long-jwt-secret-key-which-is-at-least-32-bytes".getBytes()),
+                        SignatureAlgorithm.HS256)
+                .compact();
+
+        // then
+        assertThrows(TokenException.class, () -> jwtTokenProvider.validateToken(token));
+    }
+}
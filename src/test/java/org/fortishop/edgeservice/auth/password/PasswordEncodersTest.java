@@ -0,0 +1,41 @@
+package org.fortishop.edgeservice.auth.password;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+class PasswordEncodersTest {
+
+    @Test
+    @DisplayName("접두어 없는 기존 BCrypt 해시도 검증되고, 재해시 대상으로 판단된다")
+    void legacyHash_matchesAndNeedsUpgrade() {
+        PasswordEncoder passwordEncoder = PasswordEncoders.create(properties(PasswordEncoders.BCRYPT, 10));
+        String legacy = new BCryptPasswordEncoder().encode("pw1234");
+
+        assertThat(passwordEncoder.matches("pw1234", legacy)).isTrue();
+        assertThat(passwordEncoder.upgradeEncoding(legacy)).isTrue();
+    }
+
+    @Test
+    @DisplayName("설정보다 낮은 비용의 해시만 재해시 대상이다")
+    void weakerStrength_needsUpgrade() {
+        String weak = PasswordEncoders.create(properties(PasswordEncoders.BCRYPT, 4)).encode("pw1234");
+        PasswordEncoder passwordEncoder = PasswordEncoders.create(properties(PasswordEncoders.BCRYPT, 5));
+        String current = passwordEncoder.encode("pw1234");
+
+        assertThat(current).startsWith("{bcrypt}");
+        assertThat(passwordEncoder.matches("pw1234", weak)).isTrue();
+        assertThat(passwordEncoder.upgradeEncoding(weak)).isTrue();
+        assertThat(passwordEncoder.upgradeEncoding(current)).isFalse();
+    }
+
+    private PasswordHashingProperties properties(String algorithm, int bcryptStrength) {
+        PasswordHashingProperties properties = new PasswordHashingProperties();
+        properties.setAlgorithm(algorithm);
+        properties.setBcryptStrength(bcryptStrength);
+        return properties;
+    }
+}
@@ -0,0 +1,85 @@
+package org.fortishop.edgeservice.auth.password;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class PasswordHashingExecutorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PasswordHashingExecutor executor;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        PasswordHashingProperties properties = new PasswordHashingProperties();
+        properties.setThreads(1);
+        properties.setQueueCapacity(1);
+        properties.setDeadline(Duration.ofMillis(200));
+        properties.setRetryAfterSeconds(3);
+        executor = new PasswordHashingExecutor(properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("여유가 있으면 전용 풀에서 실행한 결과를 돌려준다")
+    void execute_success() {
+        assertThat(executor.execute(() -> "hashed")).isEqualTo("hashed");
+        assertThat(meterRegistry.get("password.hashing.duration").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("대기열이 가득 차면 즉시 Retry-After 정보와 함께 거절한다")
+    void execute_rejected_when_queue_full() throws Exception {
+        // given
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture.runAsync(() -> executor.execute(() -> {
+            started.countDown();
+            release.await();
+            return true;
+        }));
+        started.await();
+        CompletableFuture.runAsync(() -> executor.execute(() -> true));
+        while (executor.queueSize() < 1) {
+            Thread.onSpinWait();
+        }
+
+        // when & then
+        assertThatThrownBy(() -> executor.execute(() -> true))
+                .isInstanceOf(PasswordHashingRejectedException.class)
+                .extracting("retryAfterSeconds")
+                .isEqualTo(3);
+        assertThat(meterRegistry.get("password.hashing.rejected").counter().count()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("deadline 안에 실행되지 못하면 거절한다")
+    void execute_rejected_after_deadline() throws Exception {
+        // given
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture.runAsync(() -> executor.execute(() -> {
+            started.countDown();
+            release.await();
+            return true;
+        }));
+        started.await();
+
+        // when & then
+        assertThatThrownBy(() -> executor.execute(() -> true))
+                .isInstanceOf(PasswordHashingRejectedException.class);
+    }
+}
@@ -0,0 +1,99 @@
+package org.fortishop.edgeservice.auth.refresh;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import org.fortishop.edgeservice.auth.jwt.TokenDigest;
+import org.fortishop.edgeservice.auth.refresh.RefreshTokenStore.Rotation;
+import org.fortishop.edgeservice.domain.Member;
+import org.fortishop.edgeservice.domain.RefreshToken;
+import org.fortishop.edgeservice.repository.MemberRepository;
+import org.fortishop.edgeservice.repository.RefreshTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+/**
+ * 해시 저장 이전의 원문 RefreshToken 행이 재발급 한 번에 이전되는지 확인한다.
+ */
+class LegacyRefreshTokensTest {
+
+    private static final Duration TTL = Duration.ofDays(7);
+
+    @Mock
+    private MemberRepository memberRepository;
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private final Member member = Member.builder().id(1L).build();
+    private LegacyRefreshTokens legacyRefreshTokens;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        given(memberRepository.getReferenceById(1L)).willReturn(member);
+        legacyRefreshTokens = new LegacyRefreshTokens(memberRepository, refreshTokenRepository);
+    }
+
+    @Test
+    @DisplayName("원문으로 저장된 유효한 토큰은 한 번 받아 주고 그 행을 지운다")
+    void consume_rawRow() {
+        // given
+        RefreshToken stored = row("raw-token", LocalDateTime.now().plusDays(1));
+        given(refreshTokenRepository.findByMember(member)).willReturn(Optional.of(stored));
+
+        // when
+        boolean consumed = legacyRefreshTokens.consume(1L, "raw-token");
+
+        // then
+        assertThat(consumed).isTrue();
+        verify(refreshTokenRepository).delete(stored);
+    }
+
+    @Test
+    @DisplayName("원문이 다르거나 만료된 행은 받지 않는다")
+    void consume_rejectsMismatchOrExpired() {
+        // given
+        given(refreshTokenRepository.findByMember(member))
+                .willReturn(Optional.of(row("raw-token", LocalDateTime.now().plusDays(1))))
+                .willReturn(Optional.of(row("raw-token", LocalDateTime.now().minusSeconds(1))));
+
+        // when & then
+        assertThat(legacyRefreshTokens.consume(1L, "other-token")).isFalse();
+        assertThat(legacyRefreshTokens.consume(1L, "raw-token")).isFalse();
+        verify(refreshTokenRepository, never()).delete(any());
+    }
+
+    @Test
+    @DisplayName("JPA 저장소는 원문 행으로 재발급하면 새 토큰의 해시로 바꿔 쓴다")
+    void jpaRotate_rehashesRawRow() {
+        // given
+        RefreshToken stored = row("raw-token", LocalDateTime.now().plusDays(1));
+        given(refreshTokenRepository.findByMember(member)).willReturn(Optional.of(stored));
+        JpaRefreshTokenStore store = new JpaRefreshTokenStore(memberRepository, refreshTokenRepository);
+
+        // when
+        Rotation rotation = store.rotate(1L, "device", "raw-token", "new-token", TTL);
+
+        // then
+        assertThat(rotation).isEqualTo(Rotation.ROTATED);
+        assertThat(stored.getToken()).isEqualTo(TokenDigest.of("new-token").toHex());
+        assertThat(store.rotate(1L, "device", "raw-token", "next-token", TTL)).isEqualTo(Rotation.MISMATCH);
+    }
+
+    private RefreshToken row(String token, LocalDateTime expiresAt) {
+        return RefreshToken.builder()
+                .member(member)
+                .token(token)
+                .expiresAt(expiresAt)
+                .build();
+    }
+}
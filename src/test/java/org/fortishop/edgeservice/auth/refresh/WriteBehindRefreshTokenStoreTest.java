@@ -0,0 +1,262 @@
+package org.fortishop.edgeservice.auth.refresh;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.any;
+import static org.mockito.BDDMockito.anyMap;
+import static org.mockito.BDDMockito.atLeastOnce;
+import static org.mockito.BDDMockito.inOrder;
+import static org.mockito.BDDMockito.never;
+import static org.mockito.BDDMockito.times;
+import static org.mockito.BDDMockito.verify;
+import static org.mockito.BDDMockito.willAnswer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.fortishop.edgeservice.auth.jwt.JwtProperties;
+import org.fortishop.edgeservice.auth.jwt.TokenDigest;
+import org.fortishop.edgeservice.auth.refresh.RefreshTokenStore.Rotation;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Redis 대기열은 실제 Redis 에서, DB 반영은 JpaRefreshTokenStore mock 으로 확인한다.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class WriteBehindRefreshTokenStoreTest {
+
+    private static final Duration TTL = Duration.ofDays(7);
+
+    @Container
+    static GenericContainer<?> redis = new GenericContainer<>("redis:7.2.1")
+            .withExposedPorts(6379);
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
+    @Mock
+    private JpaRefreshTokenStore jpaRefreshTokenStore;
+
+    private SimpleMeterRegistry meterRegistry;
+    private WriteBehindRefreshTokenStore store;
+
+    @BeforeAll
+    static void setUpRedis() {
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(redis.getHost(), redis.getMappedPort(6379)));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void tearDownRedis() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        redisTemplate.delete(WriteBehindRefreshTokenStore.PENDING_KEY);
+        redisTemplate.delete(WriteBehindRefreshTokenStore.LOCK_KEY);
+        meterRegistry = new SimpleMeterRegistry();
+        store = newStore();
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.shutdown();
+    }
+
+    @Test
+    @DisplayName("같은 회원의 저장은 마지막 값으로 합쳐져 한 번에 반영되고, 반영된 항목은 대기열에서 빠진다")
+    void save_coalescesPerMember() {
+        // given
+        store.save(1L, "device", "token-1", TTL);
+        store.save(1L, "device", "token-2", TTL);
+        store.save(2L, "device", "token-3", TTL);
+
+        // when
+        store.flush();
+        store.flush();
+
+        // then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<Long, RefreshTokenWrite>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(jpaRefreshTokenStore, times(1)).saveAll(captor.capture());
+        assertThat(captor.getValue()).hasSize(2);
+        assertThat(captor.getValue().get(1L).tokenHash()).isEqualTo(TokenDigest.of("token-2").toHex());
+        assertThat(redisTemplate.hasKey(WriteBehindRefreshTokenStore.PENDING_KEY)).isFalse();
+    }
+
+    @Test
+    @DisplayName("반영 전 토큰도 다른 노드의 재발급에서 바로 확인된다")
+    void rotate_readsPendingWriteFromAnotherNode() {
+        // given
+        WriteBehindRefreshTokenStore otherNode = newStore();
+        store.save(1L, "device", "token-1", TTL);
+
+        try {
+            // when & then
+            assertThat(otherNode.rotate(1L, "device", "other", "token-2", TTL)).isEqualTo(Rotation.MISMATCH);
+            assertThat(otherNode.rotate(1L, "device", "token-1", "token-2", TTL)).isEqualTo(Rotation.ROTATED);
+            assertThat(store.rotate(1L, "device", "token-2", "token-3", TTL)).isEqualTo(Rotation.ROTATED);
+            verify(jpaRefreshTokenStore, never()).rotate(any(), any(), any(), any(), any());
+            verify(jpaRefreshTokenStore, never()).saveAll(anyMap());
+        } finally {
+            otherNode.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("반영 전에 노드가 내려가도 대기열이 남아 있어 다음 노드가 반영한다")
+    void flush_survivesNodeRestart() {
+        // given
+        store.save(1L, "device", "token-1", TTL);
+        store.shutdown();
+
+        // when
+        store = newStore();
+        store.flush();
+
+        // then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<Long, RefreshTokenWrite>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(jpaRefreshTokenStore).saveAll(captor.capture());
+        assertThat(captor.getValue().get(1L).tokenHash()).isEqualTo(TokenDigest.of("token-1").toHex());
+    }
+
+    @Test
+    @DisplayName("전체 로그아웃은 즉시 재발급을 막고, 다음 반영에서 DB 에서 지운다")
+    void deleteAll_queuesDelete() {
+        // given
+        store.save(1L, "device", "token-1", TTL);
+
+        // when
+        store.deleteAll(1L);
+
+        // then
+        assertThat(store.rotate(1L, "device", "token-1", "token-2", TTL)).isEqualTo(Rotation.NOT_FOUND);
+        verify(jpaRefreshTokenStore, never()).rotate(any(), any(), any(), any(), any());
+        store.flush();
+        verify(jpaRefreshTokenStore).deleteAll(1L);
+        verify(jpaRefreshTokenStore, never()).saveAll(anyMap());
+        assertThat(redisTemplate.hasKey(WriteBehindRefreshTokenStore.PENDING_KEY)).isFalse();
+    }
+
+    @Test
+    @DisplayName("반영 중에 들어온 전체 로그아웃은 대기열에 남아 반영 뒤에 DB 에서 지워 토큰이 되살아나지 않는다")
+    void deleteAll_duringInFlightFlush() throws Exception {
+        // given
+        CountDownLatch saving = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        willAnswer(invocation -> {
+            saving.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).given(jpaRefreshTokenStore).saveAll(anyMap());
+        store.save(1L, "device", "token-1", TTL);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            // when
+            Future<?> flushing = executor.submit(store::flush);
+            assertThat(saving.await(5, TimeUnit.SECONDS)).isTrue();
+            store.deleteAll(1L);
+            release.countDown();
+            flushing.get(5, TimeUnit.SECONDS);
+            store.flush();
+
+            // then
+            InOrder inOrder = inOrder(jpaRefreshTokenStore);
+            inOrder.verify(jpaRefreshTokenStore).saveAll(anyMap());
+            inOrder.verify(jpaRefreshTokenStore).deleteAll(1L);
+            assertThat(redisTemplate.hasKey(WriteBehindRefreshTokenStore.PENDING_KEY)).isFalse();
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("배치 반영이 실패하면 회원별로 다시 쓰고, 계속 실패하는 값은 버리지 않고 대기열에 남겨 카운터로 알린다")
+    void flush_keepsFailingRowQueued() {
+        // given
+        willAnswer(invocation -> {
+            Map<Long, RefreshTokenWrite> writes = invocation.getArgument(0);
+            if (writes.containsKey(2L)) {
+                throw new IllegalStateException("bad row");
+            }
+            return null;
+        }).given(jpaRefreshTokenStore).saveAll(anyMap());
+        store.save(1L, "device", "token-1", TTL);
+        store.save(2L, "device", "token-2", TTL);
+
+        // when
+        store.flush();
+        store.flush();
+        store.flush();
+        store.flush();
+
+        // then
+        verify(jpaRefreshTokenStore, times(1)).saveAll(Map.of(1L, writeOf(1L)));
+        verify(jpaRefreshTokenStore, times(4)).saveAll(Map.of(2L, writeOf(2L)));
+        assertThat(meterRegistry.counter("refreshtoken.writebehind.failures").count()).isEqualTo(4);
+        assertThat(redisTemplate.opsForHash().keys(WriteBehindRefreshTokenStore.PENDING_KEY)).containsExactly("2");
+        assertThat(store.rotate(2L, "device", "token-2", "token-3", TTL)).isEqualTo(Rotation.ROTATED);
+    }
+
+    @Test
+    @DisplayName("대기열이 가득 차면 새 회원의 저장은 바로 DB 에 쓰고, 이미 대기 중인 회원은 계속 합친다")
+    void save_writesThroughWhenPendingIsFull() {
+        // given
+        Map<String, String> full = new HashMap<>();
+        for (long memberId = 0; memberId < WriteBehindRefreshTokenStore.MAX_PENDING; memberId++) {
+            full.put(String.valueOf(memberId), "hash:" + Long.MAX_VALUE);
+        }
+        redisTemplate.opsForHash().putAll(WriteBehindRefreshTokenStore.PENDING_KEY, full);
+
+        // when
+        store.save(0L, "device", "token-queued", TTL);
+        store.save((long) WriteBehindRefreshTokenStore.MAX_PENDING, "device", "token-new", TTL);
+
+        // then
+        verify(jpaRefreshTokenStore, never()).save(0L, "device", "token-queued", TTL);
+        verify(jpaRefreshTokenStore).save((long) WriteBehindRefreshTokenStore.MAX_PENDING, "device", "token-new", TTL);
+        assertThat(redisTemplate.opsForHash().size(WriteBehindRefreshTokenStore.PENDING_KEY))
+                .isEqualTo(WriteBehindRefreshTokenStore.MAX_PENDING);
+    }
+
+    private WriteBehindRefreshTokenStore newStore() {
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setRefreshTokenFlushInterval(Duration.ofHours(1));
+        return new WriteBehindRefreshTokenStore(jpaRefreshTokenStore, redisTemplate, jwtProperties, meterRegistry);
+    }
+
+    private RefreshTokenWrite writeOf(Long memberId) {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<Long, RefreshTokenWrite>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(jpaRefreshTokenStore, atLeastOnce()).saveAll(captor.capture());
+        return captor.getAllValues().get(0).get(memberId);
+    }
+}
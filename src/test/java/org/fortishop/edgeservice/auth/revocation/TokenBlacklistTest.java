@@ -0,0 +1,73 @@
+package org.fortishop.edgeservice.auth.revocation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.mock;
+import static org.mockito.BDDMockito.never;
+import static org.mockito.BDDMockito.verify;
+
+import io.jsonwebtoken.Claims;
+import java.util.Date;
+import java.util.UUID;
+import org.fortishop.edgeservice.auth.jwt.JwtProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+class TokenBlacklistTest {
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    private TokenBlacklist tokenBlacklist;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setAccessTokenValidity(0L);
+        tokenBlacklist = new TokenBlacklist(stringRedisTemplate, listenerContainer, jwtProperties);
+    }
+
+    @Test
+    @DisplayName("로그아웃한 토큰은 로컬 캐시에서 바로 폐기로 판단한다")
+    void revokedToken_detectedLocally() {
+        Claims claims = claims(UUID.randomUUID().toString());
+
+        tokenBlacklist.revoke(claims, "access-token");
+
+        assertThat(tokenBlacklist.isRevoked(claims, "access-token")).isTrue();
+    }
+
+    @Test
+    @DisplayName("구독 전에는 로컬에 없는 토큰을 Redis에서 확인한다")
+    void notSubscribed_fallsBackToRedis() {
+        given(stringRedisTemplate.execute(any(RedisCallback.class))).willReturn(true);
+
+        assertThat(tokenBlacklist.isRevoked(claims(UUID.randomUUID().toString()), "other-token")).isTrue();
+    }
+
+    @Test
+    @DisplayName("구독 후 AccessToken 유효기간이 지나면 Redis 조회 없이 폐기되지 않음으로 판단한다")
+    void warmCache_skipsRedis() {
+        tokenBlacklist.onChannelSubscribed(TokenBlacklist.REVOKED_CHANNEL.getBytes(), 1);
+
+        assertThat(tokenBlacklist.isRevoked(claims(UUID.randomUUID().toString()), "live-token")).isFalse();
+        verify(stringRedisTemplate, never()).execute(any(RedisCallback.class));
+    }
+
+    private Claims claims(String tokenId) {
+        Claims claims = mock(Claims.class);
+        given(claims.getId()).willReturn(tokenId);
+        given(claims.getExpiration()).willReturn(new Date(System.currentTimeMillis() + 60_000));
+        return claims;
+    }
+}
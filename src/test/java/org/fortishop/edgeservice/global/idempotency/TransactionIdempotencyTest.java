@@ -0,0 +1,134 @@
+package org.fortishop.edgeservice.global.idempotency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+class TransactionIdempotencyTest {
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private TransactionIdempotency idempotency;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        given(stringRedisTemplate.opsForValue()).willReturn(valueOperations);
+        IdempotencyProperties properties = new IdempotencyProperties();
+        properties.setLocalCacheSize(2);
+        idempotency = new TransactionIdempotency(stringRedisTemplate, properties);
+    }
+
+    @Test
+    @DisplayName("처음 보는 transactionId 는 짧은 TTL 의 processing 표시와 owner token 을 잡는다")
+    void tryClaim_claimsProcessing() {
+        // given
+        given(valueOperations.setIfAbsent(eq("idem:pt:tx-1"), startsWith("processing:"), eq(Duration.ofMinutes(1))))
+                .willReturn(true);
+
+        // when
+        TransactionIdempotency.Claim claim = idempotency.tryClaim("tx-1");
+
+        // then
+        assertThat(claim.done()).isFalse();
+        assertThat(claim.token()).startsWith("processing:");
+    }
+
+    @Test
+    @DisplayName("done 으로 기록된 transactionId 만 중복으로 보고, 처리 중이면 owner 없이 진행시켜 DB 가 판단하게 한다")
+    void tryClaim_existingKey() {
+        // given
+        given(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).willReturn(false);
+        given(valueOperations.get("idem:pt:tx-done")).willReturn("done");
+        given(valueOperations.get("idem:pt:tx-running")).willReturn("processing:other");
+
+        // when
+        TransactionIdempotency.Claim done = idempotency.tryClaim("tx-done");
+        TransactionIdempotency.Claim running = idempotency.tryClaim("tx-running");
+
+        // then
+        assertThat(done.done()).isTrue();
+        assertThat(running.done()).isFalse();
+        assertThat(running.token()).isNull();
+    }
+
+    @Test
+    @DisplayName("confirm 하면 Redis 에 done 을 남기고, 이후에는 Redis 를 거치지 않고 로컬 LRU 에서 걸러진다")
+    void confirm_marksDone() {
+        // when
+        idempotency.confirm("tx-1");
+        TransactionIdempotency.Claim claim = idempotency.tryClaim("tx-1");
+
+        // then
+        verify(valueOperations).set("idem:pt:tx-1", "done", Duration.ofHours(24));
+        assertThat(claim.done()).isTrue();
+        verify(valueOperations, never()).setIfAbsent(anyString(), anyString(), any(Duration.class));
+    }
+
+    @Test
+    @DisplayName("Redis 장애 시에는 중복으로 보지 않고 DB 유니크 제약에 맡긴다")
+    void tryClaim_redisDown() {
+        // given
+        given(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class)))
+                .willThrow(new RedisConnectionFailureException("down"));
+
+        // when
+        TransactionIdempotency.Claim claim = idempotency.tryClaim("tx-1");
+
+        // then
+        assertThat(claim.done()).isFalse();
+        assertThat(claim.token()).isNull();
+    }
+
+    @Test
+    @DisplayName("release 는 자신이 잡은 processing 표시만 지운다")
+    @SuppressWarnings("unchecked")
+    void release_onlyOwnedClaim() {
+        // when
+        idempotency.release("tx-1", new TransactionIdempotency.Claim(false, null));
+        idempotency.release("tx-2", new TransactionIdempotency.Claim(false, "processing:owner"));
+
+        // then
+        verify(stringRedisTemplate, never()).execute(any(RedisScript.class), eq(List.of("idem:pt:tx-1")), any());
+        verify(stringRedisTemplate).execute(any(RedisScript.class), eq(List.of("idem:pt:tx-2")), eq("processing:owner"));
+        verify(stringRedisTemplate, never()).delete(anyString());
+        verify(stringRedisTemplate, never()).delete(anyList());
+    }
+
+    @Test
+    @DisplayName("MySQL 1062 오류를 원인으로 가진 제약 위반만 중복 키로 판단한다")
+    void isDuplicateKey() {
+        // given
+        DataIntegrityViolationException duplicate = new DataIntegrityViolationException("dup",
+                new SQLException("Duplicate entry", "23000", 1062));
+        DataIntegrityViolationException notNull = new DataIntegrityViolationException("null",
+                new SQLException("Column cannot be null", "23000", 1048));
+
+        // when & then
+        assertThat(TransactionIdempotency.isDuplicateKey(duplicate)).isTrue();
+        assertThat(TransactionIdempotency.isDuplicateKey(notNull)).isFalse();
+    }
+}
@@ -0,0 +1,96 @@
+package org.fortishop.edgeservice.global.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * gcra.lua 를 실제 Redis 에서 실행해 고정된 시각(now)마다 {granted, remaining, reset} 을 확인한다.
+ * 정책은 capacity 5, 초당 5개(토큰 간격 200ms)이다.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class GcraScriptTest {
+    private static final String KEY = "gcra:member:1";
+    private static final long NOW = 1_700_000_000_000L;
+    private static final RedisScript<List<Long>> SCRIPT = RedisTokenBuckets.script("scripts/gcra.lua");
+
+    @Container
+    static GenericContainer<?> redis = new GenericContainer<>("redis:7.2.1")
+            .withExposedPorts(6379);
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
+    @BeforeAll
+    static void setUpRedis() {
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(redis.getHost(), redis.getMappedPort(6379)));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void tearDownRedis() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate.delete(KEY);
+    }
+
+    @Test
+    @DisplayName("빈 키에서는 capacity 만큼 연속으로 허용하고, 그 다음 요청은 토큰 간격만큼 기다리게 한다")
+    void burstUpToCapacity() {
+        assertThat(acquire(NOW, 1)).containsExactly(1L, 4L, 200L);
+        assertThat(acquire(NOW, 1)).containsExactly(1L, 3L, 200L);
+        assertThat(acquire(NOW, 1)).containsExactly(1L, 2L, 200L);
+        assertThat(acquire(NOW, 1)).containsExactly(1L, 1L, 200L);
+        assertThat(acquire(NOW, 1)).containsExactly(1L, 0L, 200L);
+        assertThat(acquire(NOW, 1)).containsExactly(0L, 0L, 200L);
+    }
+
+    @Test
+    @DisplayName("요청 수가 남은 토큰보다 많으면 남은 만큼만 준다")
+    void partialGrant() {
+        assertThat(acquire(NOW, 3)).containsExactly(3L, 2L, 200L);
+        assertThat(acquire(NOW, 4)).containsExactly(2L, 0L, 200L);
+    }
+
+    @Test
+    @DisplayName("소진 후에는 경과 시간만큼 생긴 토큰만 허용하고, reset 은 다음 토큰까지 남은 시간이다")
+    void refillAfterDrain() {
+        assertThat(acquire(NOW, 5)).containsExactly(5L, 0L, 200L);
+
+        assertThat(acquire(NOW + 100, 1)).containsExactly(0L, 0L, 100L);
+        assertThat(acquire(NOW + 300, 1)).containsExactly(1L, 0L, 100L);
+        assertThat(acquire(NOW + 450, 2)).containsExactly(1L, 0L, 150L);
+    }
+
+    @Test
+    @DisplayName("TAT 가 지나면 다시 capacity 만큼 허용하고, 키는 TAT 까지만 유지된다")
+    void fullAfterIdle() {
+        assertThat(acquire(NOW, 5)).containsExactly(5L, 0L, 200L);
+        assertThat(redisTemplate.getExpire(KEY)).isBetween(0L, 1L);
+
+        assertThat(acquire(NOW + 5_000, 5)).containsExactly(5L, 0L, 200L);
+    }
+
+    private List<Long> acquire(long now, long requested) {
+        return redisTemplate.execute(SCRIPT, List.of(KEY),
+                String.valueOf(now), "5", "5", "0", String.valueOf(requested));
+    }
+}
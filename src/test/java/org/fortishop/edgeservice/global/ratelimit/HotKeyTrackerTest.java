@@ -0,0 +1,113 @@
+package org.fortishop.edgeservice.global.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class HotKeyTrackerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private HotKeyTracker hotKeyTracker;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getHotKey().setTopK(2);
+        properties.getHotKey().setLocalRejectThreshold(10);
+        hotKeyTracker = new HotKeyTracker(properties, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("가장 많이 거절된 상위 K 개 키를 순서대로 유지한다")
+    void recordRejection_keepsTopK() {
+        // when
+        record("default:member:1", 5);
+        record("default:guest:10.0.0.1", 8);
+        record("default:member:2", 1);
+        hotKeyTracker.tick();
+
+        // then
+        assertThat(hotKeyTracker.hotKeys())
+                .extracting(HotKeyTracker.HotKey::key)
+                .containsExactly("default:guest:10.0.0.1", "default:member:1");
+        assertThat(meterRegistry.get("ratelimit.hotkey.rejections").tag("rank", "1").gauge().value())
+                .isEqualTo(8.0);
+    }
+
+    @Test
+    @DisplayName("거절 횟수가 임계치를 넘은 키는 hot 으로 보고, 윈도우가 지나면 횟수가 절반으로 줄어든다")
+    void isHot_decays() {
+        // given
+        record("default:member:1", 10);
+
+        // when & then
+        assertThat(hotKeyTracker.isHot("default:member:1")).isTrue();
+        assertThat(hotKeyTracker.isHot("default:member:2")).isFalse();
+
+        hotKeyTracker.decay();
+
+        assertThat(hotKeyTracker.isHot("default:member:1")).isFalse();
+        assertThat(hotKeyTracker.hotKeys().get(0).rejections()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("로컬 거절은 sketch 에 더하지 않아, 요청 속도를 낮춘 hot key 도 감쇠 후 다시 Redis 판단을 받는다")
+    void isHot_coolsDownWhileLocallyRejected() {
+        // given
+        record("default:member:1", 16);
+        assertThat(hotKeyTracker.isHot("default:member:1")).isTrue();
+
+        // when: 윈도우마다 허용 속도 수준의 요청이 계속 로컬에서 거절된다
+        for (int window = 0; window < 2; window++) {
+            for (int i = 0; i < 50; i++) {
+                hotKeyTracker.recordLocalRejection();
+            }
+            hotKeyTracker.decay();
+        }
+
+        // then
+        assertThat(hotKeyTracker.isHot("default:member:1")).isFalse();
+        assertThat(meterRegistry.get("ratelimit.hotkey.local.rejections").counter().count()).isEqualTo(100.0);
+    }
+
+    @Test
+    @DisplayName("sketch 추정값이 임계치를 넘어도 상위 K 개에 없는 키는 로컬 거절하지 않는다")
+    void isHot_onlyTopKeys() {
+        // given
+        record("default:member:1", 10);
+        record("default:member:2", 12);
+        record("default:member:3", 20);
+
+        // when & then
+        assertThat(hotKeyTracker.isHot("default:member:3")).isTrue();
+        assertThat(hotKeyTracker.isHot("default:member:2")).isTrue();
+        assertThat(hotKeyTracker.isHot("default:member:1")).isFalse();
+    }
+
+    @Test
+    @DisplayName("거절 경로에서는 정렬된 목록을 다시 만들지 않고, tick 에서 반영한다. hot 판단은 바로 반영된다")
+    void recordRejection_publishesSnapshotOnTick() {
+        // given
+        record("default:member:1", 5);
+        hotKeyTracker.tick();
+
+        // when
+        record("default:member:1", 5);
+
+        // then
+        assertThat(hotKeyTracker.isHot("default:member:1")).isTrue();
+        assertThat(hotKeyTracker.hotKeys().get(0).rejections()).isEqualTo(5);
+        hotKeyTracker.tick();
+        assertThat(hotKeyTracker.hotKeys().get(0).rejections()).isEqualTo(10);
+    }
+
+    private void record(String key, int times) {
+        for (int i = 0; i < times; i++) {
+            hotKeyTracker.recordRejection(key);
+        }
+    }
+}
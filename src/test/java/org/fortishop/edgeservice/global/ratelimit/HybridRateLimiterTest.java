@@ -0,0 +1,101 @@
+package org.fortishop.edgeservice.global.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+class HybridRateLimiterTest {
+
+    @Mock
+    private RedisTokenBuckets redisTokenBuckets;
+
+    private final RateLimitPolicy policy = new RateLimitPolicy("default", 5, 5);
+
+    // 백그라운드 lease 갱신을 테스트가 원하는 시점에만 실행한다.
+    private final Queue<Runnable> renewTasks = new ArrayDeque<>();
+
+    private HybridRateLimiter hybridRateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setLeaseSize(4);
+        hybridRateLimiter = new HybridRateLimiter(redisTokenBuckets, properties, renewTasks::add);
+    }
+
+    @AfterEach
+    void tearDown() {
+        hybridRateLimiter.shutdown();
+    }
+
+    @Test
+    @DisplayName("빌려온 토큰은 Redis 호출 없이 로컬에서 소비한다")
+    void tryAcquire_consumesLeasedTokensLocally() {
+        // given
+        given(redisTokenBuckets.acquire(eq("member:1"), eq(policy), anyLong())).willReturn(granted(4), granted(0));
+
+        // when
+        RateLimitDecision first = hybridRateLimiter.tryAcquire("member:1", policy);
+        RateLimitDecision second = hybridRateLimiter.tryAcquire("member:1", policy);
+
+        // then
+        assertThat(first.allowed()).isTrue();
+        assertThat(second.allowed()).isTrue();
+        assertThat(renewTasks).hasSize(1);
+        verify(redisTokenBuckets, times(1)).acquire("member:1", policy, 4L);
+        verifyNoMoreInteractions(redisTokenBuckets);
+    }
+
+    @Test
+    @DisplayName("남은 토큰이 절반 이하가 되면 백그라운드에서 다음 lease 를 받아온다")
+    void tryAcquire_renewsAsynchronously() {
+        // given
+        given(redisTokenBuckets.acquire(eq("member:1"), eq(policy), anyLong())).willReturn(granted(4), granted(4));
+
+        // when
+        hybridRateLimiter.tryAcquire("member:1", policy);
+        hybridRateLimiter.tryAcquire("member:1", policy);
+        renewTasks.remove().run();
+
+        // then
+        verify(redisTokenBuckets, times(2)).acquire("member:1", policy, 4L);
+        assertThat(hybridRateLimiter.tryAcquire("member:1", policy).remaining()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("전역 버킷이 비어 있으면 거절한다")
+    void tryAcquire_rejectsWhenGlobalBucketIsEmpty() {
+        // given
+        given(redisTokenBuckets.acquire(eq("guest:127.0.0.1"), eq(policy), anyLong())).willReturn(granted(0));
+
+        // when
+        RateLimitDecision decision = hybridRateLimiter.tryAcquire("guest:127.0.0.1", policy);
+        RateLimitDecision retried = hybridRateLimiter.tryAcquire("guest:127.0.0.1", policy);
+
+        // then
+        assertThat(decision.allowed()).isFalse();
+        assertThat(decision.resetMillis()).isPositive();
+        assertThat(retried.allowed()).isFalse();
+        assertThat(renewTasks).isEmpty();
+        verify(redisTokenBuckets, times(1)).acquire("guest:127.0.0.1", policy, 4L);
+        verifyNoMoreInteractions(redisTokenBuckets);
+    }
+
+    private RedisTokenBuckets.Acquisition granted(long granted) {
+        return new RedisTokenBuckets.Acquisition(granted, 0, granted > 0 ? 0 : 200);
+    }
+}
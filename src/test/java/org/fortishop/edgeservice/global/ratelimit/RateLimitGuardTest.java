@@ -0,0 +1,92 @@
+package org.fortishop.edgeservice.global.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.QueryTimeoutException;
+
+class RateLimitGuardTest {
+
+    @Mock
+    private RateLimiter rateLimiter;
+
+    private final RateLimitPolicy policy = new RateLimitPolicy("default", 2, 1);
+    private RateLimitProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        properties = new RateLimitProperties();
+        properties.getCircuitBreaker().setFailureThreshold(2);
+        properties.getCircuitBreaker().setOpenDuration(Duration.ofMinutes(1));
+    }
+
+    @Test
+    @DisplayName("Redis 호출이 실패하면 fail-open 으로 허용하고, 연속 실패가 쌓이면 서킷을 연다")
+    void tryAcquire_failOpen() {
+        // given
+        RateLimitGuard guard = new RateLimitGuard(rateLimiter, properties, new SimpleMeterRegistry());
+        given(rateLimiter.tryAcquire(anyString(), any())).willThrow(new QueryTimeoutException("timeout"));
+
+        // when
+        RateLimitDecision first = guard.tryAcquire("member:1", policy);
+        RateLimitDecision second = guard.tryAcquire("member:1", policy);
+        RateLimitDecision third = guard.tryAcquire("member:1", policy);
+
+        // then
+        assertThat(first.allowed()).isTrue();
+        assertThat(second.allowed()).isTrue();
+        assertThat(third.allowed()).isTrue();
+        assertThat(third.hasQuota()).isFalse();
+        assertThat(guard.circuitState()).isEqualTo(RateLimitCircuitBreaker.State.OPEN);
+        verify(rateLimiter, times(2)).tryAcquire("member:1", policy);
+    }
+
+    @Test
+    @DisplayName("local fallback 은 노드 로컬 버킷으로 요청을 제한한다")
+    void tryAcquire_localFallback() {
+        // given
+        properties.getCircuitBreaker().setFallback(RateLimitGuard.LOCAL);
+        RateLimitGuard guard = new RateLimitGuard(rateLimiter, properties, new SimpleMeterRegistry());
+        given(rateLimiter.tryAcquire(anyString(), any())).willThrow(new QueryTimeoutException("timeout"));
+
+        // when & then
+        assertThat(guard.tryAcquire("member:1", policy).allowed()).isTrue();
+        assertThat(guard.tryAcquire("member:1", policy).remaining()).isZero();
+        RateLimitDecision rejected = guard.tryAcquire("member:1", policy);
+        assertThat(rejected.allowed()).isFalse();
+        assertThat(rejected.retryAfterSeconds()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("open 시간이 지나면 한 번 시험 호출하고 성공하면 서킷을 닫는다")
+    void tryAcquire_halfOpenRecovers() {
+        // given
+        properties.getCircuitBreaker().setOpenDuration(Duration.ZERO);
+        RateLimitGuard guard = new RateLimitGuard(rateLimiter, properties, new SimpleMeterRegistry());
+        given(rateLimiter.tryAcquire(anyString(), any()))
+                .willThrow(new QueryTimeoutException("timeout"))
+                .willThrow(new QueryTimeoutException("timeout"))
+                .willReturn(new RateLimitDecision(false, 0, 1_000));
+
+        // when
+        guard.tryAcquire("member:1", policy);
+        guard.tryAcquire("member:1", policy);
+        RateLimitDecision recovered = guard.tryAcquire("member:1", policy);
+
+        // then
+        assertThat(recovered.allowed()).isFalse();
+        assertThat(guard.circuitState()).isEqualTo(RateLimitCircuitBreaker.State.CLOSED);
+    }
+}
@@ -0,0 +1,89 @@
+package org.fortishop.edgeservice.global.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class RateLimitPoliciesTest {
+
+    private RateLimitProperties properties;
+    private RateLimitPolicies rateLimitPolicies;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RateLimitProperties();
+        properties.setPolicies(List.of(
+                policy("login", "/api/auths/login", Set.of("POST"), Set.of(), 3, 1),
+                policy("admin", "/api/**", Set.of(), Set.of("ROLE_ADMIN"), 50, 50),
+                policy("point-write", "/api/points/**", Set.of("POST", "PATCH"), Set.of(), 2, 1)));
+        rateLimitPolicies = new RateLimitPolicies(properties);
+    }
+
+    @Test
+    @DisplayName("경로, 메서드, 역할이 모두 일치하는 첫 번째 정책을 사용한다")
+    void resolve_firstMatchingPolicy() {
+        assertThat(rateLimitPolicies.resolve("/api/auths/login", "POST", RateLimitPolicies.GUEST_ROLE).name())
+                .isEqualTo("login");
+        assertThat(rateLimitPolicies.resolve("/api/points/transfer", "POST", "ROLE_USER").name())
+                .isEqualTo("point-write");
+        assertThat(rateLimitPolicies.resolve("/api/points/transfer", "POST", "ROLE_ADMIN").name())
+                .isEqualTo("admin");
+    }
+
+    @Test
+    @DisplayName("일치하는 정책이 없으면 기본 정책을 사용한다")
+    void resolve_defaultPolicy() {
+        RateLimitPolicy policy = rateLimitPolicies.resolve("/api/points/me", "GET", "ROLE_USER");
+
+        assertThat(policy.name()).isEqualTo("default");
+        assertThat(policy.capacity()).isEqualTo(properties.getCapacity());
+    }
+
+    @Test
+    @DisplayName("기본 정책의 버킷 키는 정책 도입 전과 같고, 나머지 정책만 이름으로 나뉜다")
+    void bucketKey() {
+        RateLimitPolicy defaultPolicy = rateLimitPolicies.resolve("/api/points/me", "GET", "ROLE_USER");
+        RateLimitPolicy loginPolicy = rateLimitPolicies.resolve("/api/auths/login", "POST", RateLimitPolicies.GUEST_ROLE);
+
+        assertThat(defaultPolicy.bucketKey("member:1")).isEqualTo("member:1");
+        assertThat(loginPolicy.bucketKey("ip:10.0.0.1")).isEqualTo("login:ip:10.0.0.1");
+    }
+
+    @Test
+    @DisplayName("refresh 후 바뀐 설정으로 정책을 다시 만들고, 잘못된 설정이면 기존 정책을 유지한다")
+    void reload() {
+        // given
+        properties.setPolicies(List.of(policy("read", "/api/points/**", Set.of("GET"), Set.of(), 20, 20)));
+
+        // when
+        rateLimitPolicies.reload();
+
+        // then
+        assertThat(rateLimitPolicies.resolve("/api/points/me", "GET", "ROLE_USER").name()).isEqualTo("read");
+
+        // given
+        properties.setPolicies(List.of(policy("broken", "/api/**", Set.of(), Set.of(), 0, 1)));
+
+        // when
+        rateLimitPolicies.reload();
+
+        // then
+        assertThat(rateLimitPolicies.resolve("/api/points/me", "GET", "ROLE_USER").name()).isEqualTo("read");
+    }
+
+    private RateLimitProperties.Policy policy(String name, String path, Set<String> methods, Set<String> roles,
+                                              int capacity, int refillRate) {
+        RateLimitProperties.Policy policy = new RateLimitProperties.Policy();
+        policy.setName(name);
+        policy.setPath(path);
+        policy.setMethods(methods);
+        policy.setRoles(roles);
+        policy.setCapacity(capacity);
+        policy.setRefillRate(refillRate);
+        return policy;
+    }
+}
@@ -0,0 +1,38 @@
+package org.fortishop.edgeservice.global.route;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+class RouteClassifierTest {
+
+    private final RouteClassifier routeClassifier = new RouteClassifier();
+
+    @Test
+    @DisplayName("가장 길게 일치하는 세그먼트 prefix 로 분류한다")
+    void classify_longestSegmentPrefix() {
+        assertThat(routeClassifier.classify("/api/members/signup").isPublic()).isTrue();
+        assertThat(routeClassifier.classify("/api/members/me").isPublic()).isFalse();
+        assertThat(routeClassifier.classify("/api/members/signup-admin").isPublic()).isFalse();
+        assertThat(routeClassifier.classify("/actuator/prometheus").logged()).isFalse();
+        assertThat(routeClassifier.classify("/actuator/prometheus").isRateLimited()).isFalse();
+        assertThat(routeClassifier.classify("/actuator/ratelimit-hotkeys").isPublic()).isFalse();
+        assertThat(routeClassifier.classify("/api/points/me").rateLimitPolicy())
+                .isEqualTo(RouteClass.DEFAULT_RATE_LIMIT_POLICY);
+        assertThat(routeClassifier.classify("/").isRateLimited()).isFalse();
+    }
+
+    @Test
+    @DisplayName("분류 결과는 요청 속성에 저장되어 재사용된다")
+    void classify_cachesOnRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/auths/reissue");
+
+        RouteClass first = routeClassifier.classify(request);
+
+        assertThat(request.getAttribute(RouteClass.ATTRIBUTE)).isSameAs(first);
+        assertThat(routeClassifier.classify(request)).isSameAs(first);
+        assertThat(first.isPublic()).isTrue();
+    }
+}
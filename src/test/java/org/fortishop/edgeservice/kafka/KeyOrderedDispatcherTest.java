@@ -0,0 +1,174 @@
+package org.fortishop.edgeservice.kafka;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.fortishop.edgeservice.dto.event.PointChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+class KeyOrderedDispatcherTest {
+
+    private KeyOrderedDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        PointConsumerProperties properties = new PointConsumerProperties();
+        properties.setLanes(4);
+        properties.setMaxAttempts(2);
+        properties.setRetryBackoff(Duration.ZERO);
+        dispatcher = new KeyOrderedDispatcher(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    @DisplayName("같은 회원의 이벤트는 받은 순서대로 처리한다")
+    void dispatch_keepsOrderPerMember() {
+        // given
+        List<ConsumerRecord<String, PointChangedEvent>> records = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            records.add(record(i, (long) (i % 3), "tx-" + i));
+        }
+        Map<Long, List<String>> handled = new ConcurrentHashMap<>();
+
+        // when
+        KeyOrderedDispatcher.Result result = dispatcher.dispatch(records,
+                event -> handled.computeIfAbsent(event.getMemberId(), id -> Collections.synchronizedList(new ArrayList<>()))
+                        .add(event.getTransactionId()),
+                event -> {
+                });
+
+        // then
+        assertThat(result.completed()).isTrue();
+        assertThat(handled.get(0L)).containsExactly("tx-0", "tx-3", "tx-6", "tx-9", "tx-12", "tx-15", "tx-18",
+                "tx-21", "tx-24", "tx-27");
+    }
+
+    @Test
+    @DisplayName("업무 예외로 실패한 이벤트는 재시도 없이 recoverer 로 넘기고 다음 이벤트를 처리한다")
+    void dispatch_recoversFailedEvent() {
+        // given
+        List<ConsumerRecord<String, PointChangedEvent>> records = List.of(
+                record(0, 1L, "tx-fail"), record(1, 1L, "tx-ok"));
+        List<String> recovered = Collections.synchronizedList(new ArrayList<>());
+        List<String> handled = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger attempts = new AtomicInteger();
+
+        // when
+        KeyOrderedDispatcher.Result result = dispatcher.dispatch(records, event -> {
+            if (event.getTransactionId().equals("tx-fail")) {
+                attempts.incrementAndGet();
+                throw new IllegalArgumentException("잔액이 부족합니다.");
+            }
+            handled.add(event.getTransactionId());
+        }, event -> recovered.add(event.getTransactionId()));
+
+        // then
+        assertThat(result.completed()).isTrue();
+        assertThat(attempts).hasValue(1);
+        assertThat(recovered).containsExactly("tx-fail");
+        assertThat(handled).containsExactly("tx-ok");
+    }
+
+    @Test
+    @DisplayName("일시적인 실패는 maxAttempts 만큼 재시도한 뒤 recoverer 로 넘긴다")
+    void dispatch_retriesTransientFailure() {
+        // given
+        List<ConsumerRecord<String, PointChangedEvent>> records = List.of(record(0, 1L, "tx-fail"));
+        List<String> recovered = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger attempts = new AtomicInteger();
+
+        // when
+        KeyOrderedDispatcher.Result result = dispatcher.dispatch(records, event -> {
+            attempts.incrementAndGet();
+            throw new QueryTimeoutException("db timeout");
+        }, event -> recovered.add(event.getTransactionId()));
+
+        // then
+        assertThat(result.completed()).isTrue();
+        assertThat(attempts).hasValue(2);
+        assertThat(recovered).containsExactly("tx-fail");
+    }
+
+    @Test
+    @DisplayName("lane 시간 예산을 넘기면 그 lane 의 남은 이벤트는 다음 poll 로 미루고, 다른 lane 은 그대로 처리한다")
+    void dispatch_defersWhenLaneBudgetIsExceeded() {
+        // given
+        PointConsumerProperties properties = new PointConsumerProperties();
+        properties.setLanes(4);
+        properties.setLaneTimeBudget(Duration.ofMillis(50));
+        KeyOrderedDispatcher budgeted = new KeyOrderedDispatcher(properties);
+        List<ConsumerRecord<String, PointChangedEvent>> records = List.of(
+                record(0, 1L, "tx-slow"), record(1, 1L, "tx-next"), record(2, 2L, "tx-b"));
+        List<String> handled = Collections.synchronizedList(new ArrayList<>());
+        List<String> recovered = Collections.synchronizedList(new ArrayList<>());
+
+        try {
+            // when
+            KeyOrderedDispatcher.Result result = budgeted.dispatch(records, event -> {
+                if (event.getTransactionId().equals("tx-slow")) {
+                    Thread.sleep(100);
+                }
+                handled.add(event.getTransactionId());
+            }, event -> recovered.add(event.getTransactionId()));
+
+            // then
+            assertThat(result.deferredIndex()).isEqualTo(1);
+            assertThat(result.failedIndex()).isEqualTo(-1);
+            assertThat(handled).containsExactlyInAnyOrder("tx-slow", "tx-b");
+            assertThat(recovered).isEmpty();
+        } finally {
+            budgeted.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("recoverer 까지 실패하면 그 회원의 이후 이벤트는 미루고, 실패 위치와 미룬 위치를 구분해 돌려준다")
+    void dispatch_blocksMemberAfterUnrecoverableFailure() {
+        // given
+        List<ConsumerRecord<String, PointChangedEvent>> records = List.of(
+                record(0, 2L, "tx-a"), record(1, 1L, "tx-fail"), record(2, 1L, "tx-next"), record(3, 2L, "tx-b"));
+        List<String> handled = Collections.synchronizedList(new ArrayList<>());
+
+        // when
+        KeyOrderedDispatcher.Result result = dispatcher.dispatch(records, event -> {
+            if (event.getTransactionId().equals("tx-fail")) {
+                throw new QueryTimeoutException("db down");
+            }
+            handled.add(event.getTransactionId());
+        }, event -> {
+            throw new IllegalStateException("kafka down");
+        });
+
+        // then
+        assertThat(result.failedIndex()).isEqualTo(1);
+        assertThat(result.deferredIndex()).isEqualTo(2);
+        assertThat(result.failedFirst()).isTrue();
+        assertThat(handled).containsExactlyInAnyOrder("tx-a", "tx-b");
+    }
+
+    private ConsumerRecord<String, PointChangedEvent> record(long offset, Long memberId, String transactionId) {
+        PointChangedEvent event = PointChangedEvent.builder()
+                .memberId(memberId)
+                .changeType("SAVE")
+                .amount(BigDecimal.TEN)
+                .transactionId(transactionId)
+                .build();
+        return new ConsumerRecord<>("point.changed", 0, offset, String.valueOf(memberId), event);
+    }
+}
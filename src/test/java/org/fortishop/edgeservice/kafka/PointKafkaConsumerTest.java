@@ -0,0 +1,118 @@
+package org.fortishop.edgeservice.kafka;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.fortishop.edgeservice.dto.event.PointChangedEvent;
+import org.fortishop.edgeservice.service.PointBatchService;
+import org.fortishop.edgeservice.service.PointService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.Acknowledgment;
+
+class PointKafkaConsumerTest {
+
+    @Mock
+    private PointService pointService;
+    @Mock
+    private PointBatchService pointBatchService;
+    @Mock
+    private KafkaTemplate<String, Object> kafkaTemplate;
+    @Mock
+    private Acknowledgment firstAck;
+    @Mock
+    private Acknowledgment secondAck;
+
+    private KeyOrderedDispatcher dispatcher;
+    private PointKafkaConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        PointConsumerProperties properties = new PointConsumerProperties();
+        properties.setLanes(4);
+        properties.setMaxAttempts(1);
+        properties.setRetryBackoff(Duration.ZERO);
+        properties.setLaneTimeBudget(Duration.ofMillis(50));
+        dispatcher = new KeyOrderedDispatcher(properties);
+        consumer = new PointKafkaConsumer(pointService, pointBatchService, kafkaTemplate, dispatcher);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    @DisplayName("시간 예산으로 미룬 레코드는 실패로 세지 않고 그 위치부터 다시 받으며, DLQ 로 가지 않는다")
+    void consumeParallel_redeliversDeferredRecords() throws Exception {
+        // given
+        List<ConsumerRecord<String, PointChangedEvent>> records = List.of(
+                record(0, 1L, "tx-slow"), record(1, 1L, "tx-next"), record(2, 2L, "tx-b"));
+        willAnswer(invocation -> {
+            Thread.sleep(100);
+            return null;
+        }).given(pointService).savePoint(eq(1L), any(), any(), eq("tx-slow"), any(), any());
+
+        // when
+        consumer.consumeParallel(records, firstAck);
+        consumer.consumeParallel(records.subList(1, records.size()), secondAck);
+
+        // then
+        verify(firstAck).nack(1, Duration.ZERO);
+        verify(firstAck, never()).acknowledge();
+        verify(secondAck).acknowledge();
+        verify(pointService).savePoint(eq(1L), any(), any(), eq("tx-next"), any(), any());
+        verifyNoInteractions(kafkaTemplate);
+    }
+
+    @Test
+    @DisplayName("DLQ 전송까지 실패한 레코드만 BatchListenerFailedException 으로 error handler 에 넘긴다")
+    void consumeParallel_throwsOnlyForFailedRecord() {
+        // given
+        List<ConsumerRecord<String, PointChangedEvent>> records = List.of(
+                record(0, 2L, "tx-a"), record(1, 1L, "tx-fail"), record(2, 1L, "tx-next"));
+        willThrow(new QueryTimeoutException("db down"))
+                .given(pointService).savePoint(eq(1L), any(), any(), eq("tx-fail"), any(), any());
+        willThrow(new KafkaException("kafka down")).given(kafkaTemplate).send(anyString(), anyString(), any());
+
+        // when & then
+        assertThatThrownBy(() -> consumer.consumeParallel(records, firstAck))
+                .isInstanceOfSatisfying(BatchListenerFailedException.class,
+                        e -> assertThat(e.getIndex()).isEqualTo(1));
+        verify(firstAck, never()).acknowledge();
+        verify(firstAck, never()).nack(anyInt(), any(Duration.class));
+    }
+
+    private ConsumerRecord<String, PointChangedEvent> record(long offset, Long memberId, String transactionId) {
+        PointChangedEvent event = PointChangedEvent.builder()
+                .memberId(memberId)
+                .changeType("SAVE")
+                .amount(BigDecimal.TEN)
+                .transactionId(transactionId)
+                .sourceService("ORDER_REWARD")
+                .build();
+        return new ConsumerRecord<>("point.changed", 0, offset, String.valueOf(memberId), event);
+    }
+}
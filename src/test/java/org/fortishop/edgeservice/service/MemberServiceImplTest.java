@@ -4,12 +4,14 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.BDDMockito.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import org.fortishop.edgeservice.auth.PrincipalDetails;
+import org.fortishop.edgeservice.auth.revocation.MemberTokenVersions;
 import org.fortishop.edgeservice.domain.Member;
 import org.fortishop.edgeservice.domain.MemberPoint;
 import org.fortishop.edgeservice.domain.Role;
@@ -30,6 +32,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 public class MemberServiceImplTest {
 
@@ -45,6 +49,9 @@ public class MemberServiceImplTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private MemberTokenVersions memberTokenVersions;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
@@ -112,7 +119,7 @@ public class MemberServiceImplTest {
     void updatePassword_success() {
         PrincipalDetails p = PrincipalDetails.of(1L, "user@a.com", "ROLE_USER");
         PasswordUpdateRequest req = new PasswordUpdateRequest("cur123", "new123");
-        Member m = Member.builder().email("user@a.com").password("enc").build();
+        Member m = Member.builder().id(1L).email("user@a.com").password("enc").build();
         given(memberRepository.findByEmail("user@a.com")).willReturn(Optional.of(m));
         given(passwordEncoder.matches("cur123", "enc")).willReturn(true);
         given(passwordEncoder.encode("new123")).willReturn("new-enc");
@@ -120,6 +127,29 @@ public class MemberServiceImplTest {
         memberService.updatePassword(p, req);
 
         assertThat(m.getPassword()).isEqualTo("new-enc");
+        verify(memberTokenVersions).revokeAll(1L);
+    }
+
+    @Test
+    @DisplayName("트랜잭션 안에서 비밀번호를 바꾸면 커밋 후에만 토큰을 폐기한다")
+    void updatePassword_revokesAfterCommit() {
+        PrincipalDetails p = PrincipalDetails.of(1L, "user@a.com", "ROLE_USER");
+        PasswordUpdateRequest req = new PasswordUpdateRequest("cur123", "new123");
+        Member m = Member.builder().id(1L).email("user@a.com").password("enc").build();
+        given(memberRepository.findByEmail("user@a.com")).willReturn(Optional.of(m));
+        given(passwordEncoder.matches("cur123", "enc")).willReturn(true);
+        given(passwordEncoder.encode("new123")).willReturn("new-enc");
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            memberService.updatePassword(p, req);
+            verify(memberTokenVersions, never()).revokeAll(any());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(memberTokenVersions).revokeAll(1L);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
     }
 
     @Test
@@ -166,12 +196,13 @@ public class MemberServiceImplTest {
     @Test
     void withdraw_success() {
         PrincipalDetails p = PrincipalDetails.of(1L, "user@a.com", "ROLE_USER");
-        Member m = Member.builder().email("user@a.com").deleted(false).build();
+        Member m = Member.builder().id(1L).email("user@a.com").deleted(false).build();
         given(memberRepository.findByEmail("user@a.com")).willReturn(Optional.of(m));
 
         memberService.withdraw(p);
 
         assertThat(m.isDeleted()).isTrue();
+        verify(memberTokenVersions).revokeAll(1L);
     }
 
     @Test
@@ -189,12 +220,13 @@ public class MemberServiceImplTest {
 
     @Test
     void updateRole_success() {
-        Member m = Member.builder().email("a@a.com").role(Role.ROLE_USER).build();
+        Member m = Member.builder().id(1L).email("a@a.com").role(Role.ROLE_USER).build();
         given(memberRepository.findById(1L)).willReturn(Optional.of(m));
 
         memberService.updateRole(1L, Role.ROLE_ADMIN);
 
         assertThat(m.getRole()).isEqualTo(Role.ROLE_ADMIN);
+        verify(memberTokenVersions).revokeAll(1L);
     }
 
     @Test
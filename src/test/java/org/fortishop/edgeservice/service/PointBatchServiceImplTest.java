@@ -0,0 +1,167 @@
+package org.fortishop.edgeservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.math.BigDecimal;
+import java.util.List;
+import org.fortishop.edgeservice.domain.Member;
+import org.fortishop.edgeservice.domain.MemberPoint;
+import org.fortishop.edgeservice.domain.PointHistory;
+import org.fortishop.edgeservice.dto.event.PointChangedEvent;
+import org.fortishop.edgeservice.repository.MemberPointRepository;
+import org.fortishop.edgeservice.repository.MemberRepository;
+import org.fortishop.edgeservice.repository.PointHistoryJdbcRepository;
+import org.fortishop.edgeservice.repository.PointHistoryRepository;
+import org.fortishop.edgeservice.service.PointBatchService.RejectedPointEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+class PointBatchServiceImplTest {
+
+    @InjectMocks
+    private PointBatchServiceImpl pointBatchService;
+
+    @Mock
+    private MemberRepository memberRepository;
+    @Mock
+    private MemberPointRepository memberPointRepository;
+    @Mock
+    private PointHistoryRepository pointHistoryRepository;
+    @Mock
+    private PointHistoryJdbcRepository pointHistoryJdbcRepository;
+
+    private Member first;
+    private Member second;
+    private MemberPoint firstPoint;
+    private MemberPoint secondPoint;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        first = Member.builder().id(1L).email("first@fortishop.com").nickname("first").build();
+        second = Member.builder().id(2L).email("second@fortishop.com").nickname("second").build();
+        firstPoint = new MemberPoint(first);
+        firstPoint.add(BigDecimal.valueOf(1000));
+        secondPoint = new MemberPoint(second);
+        secondPoint.add(BigDecimal.valueOf(1000));
+    }
+
+    @Test
+    @DisplayName("회원별 변화량을 합쳐 반영하고, 반영할 수 없는 이벤트는 돌려준다")
+    void applyBatch_foldsDeltasAndRejects() {
+        // given
+        List<PointChangedEvent> events = List.of(
+                event(1L, "SAVE", 1000, "tx-1"),
+                event(1L, "USE", 500, "tx-2"),
+                event(2L, "USE", 5000, "tx-3"),
+                event(2L, "SAVE", 300, "tx-dup"),
+                event(2L, "EXPIRE", 100, "tx-4"));
+        given(pointHistoryRepository.findExistingTransactionIds(anyCollection())).willReturn(List.of("tx-dup"));
+        given(memberRepository.findAllById(any())).willReturn(List.of(first, second));
+        given(memberPointRepository.findAllByMemberIdInForUpdate(anyCollection()))
+                .willReturn(List.of(firstPoint, secondPoint));
+
+        // when
+        List<RejectedPointEvent> rejected = pointBatchService.applyBatch(events);
+
+        // then
+        assertThat(rejected)
+                .extracting(r -> r.event().getTransactionId())
+                .containsExactlyInAnyOrder("tx-3", "tx-4");
+        verify(memberPointRepository).increase(eq(1L), eq(BigDecimal.valueOf(500)), any());
+        verify(memberPointRepository, never()).increase(eq(2L), any(), any());
+        verify(memberPointRepository, never()).decrease(any(), any(), any());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<PointHistory>> histories = ArgumentCaptor.forClass(List.class);
+        verify(pointHistoryJdbcRepository).batchInsert(histories.capture());
+        assertThat(histories.getValue())
+                .extracting(PointHistory::getTransactionId)
+                .containsExactly("tx-1", "tx-2");
+    }
+
+    @Test
+    @DisplayName("존재하지 않는 회원의 이벤트는 반영하지 않고 돌려준다")
+    void applyBatch_memberNotFound() {
+        // given
+        given(pointHistoryRepository.findExistingTransactionIds(anyCollection())).willReturn(List.of());
+        given(memberRepository.findAllById(any())).willReturn(List.of());
+
+        // when
+        List<RejectedPointEvent> rejected = pointBatchService.applyBatch(List.of(event(99L, "SAVE", 100, "tx-1")));
+
+        // then
+        assertThat(rejected).hasSize(1);
+        verify(pointHistoryJdbcRepository).batchInsert(List.of());
+    }
+
+    @Test
+    @DisplayName("포인트 행이 없는 회원의 적립은 increase upsert 로 반영한다")
+    void applyBatch_savesWithoutPointRow() {
+        // given
+        given(pointHistoryRepository.findExistingTransactionIds(anyCollection())).willReturn(List.of());
+        given(memberRepository.findAllById(any())).willReturn(List.of(first));
+        given(memberPointRepository.findAllByMemberIdInForUpdate(anyCollection())).willReturn(List.of());
+
+        // when
+        List<RejectedPointEvent> rejected = pointBatchService.applyBatch(List.of(event(1L, "SAVE", 100, "tx-1")));
+
+        // then
+        assertThat(rejected).isEmpty();
+        verify(memberPointRepository).increase(eq(1L), eq(BigDecimal.valueOf(100)), any());
+        verify(memberPointRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("합친 차감이 조건부 UPDATE 에서 0 행이면 그 회원의 이벤트를 모두 돌려준다")
+    void applyBatch_rejectsMemberWhenDecreaseFails() {
+        // given
+        given(pointHistoryRepository.findExistingTransactionIds(anyCollection())).willReturn(List.of());
+        given(memberRepository.findAllById(any())).willReturn(List.of(first, second));
+        given(memberPointRepository.findAllByMemberIdInForUpdate(anyCollection()))
+                .willReturn(List.of(firstPoint, secondPoint));
+        given(memberPointRepository.decrease(eq(1L), any(), any())).willReturn(0);
+
+        // when
+        List<RejectedPointEvent> rejected = pointBatchService.applyBatch(List.of(
+                event(1L, "USE", 300, "tx-1"),
+                event(1L, "USE", 200, "tx-2"),
+                event(2L, "SAVE", 100, "tx-3")));
+
+        // then
+        assertThat(rejected)
+                .extracting(r -> r.event().getTransactionId())
+                .containsExactlyInAnyOrder("tx-1", "tx-2");
+        verify(memberPointRepository).decrease(eq(1L), eq(BigDecimal.valueOf(500)), any());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<PointHistory>> histories = ArgumentCaptor.forClass(List.class);
+        verify(pointHistoryJdbcRepository).batchInsert(histories.capture());
+        assertThat(histories.getValue())
+                .extracting(PointHistory::getTransactionId)
+                .containsExactly("tx-3");
+    }
+
+    private PointChangedEvent event(Long memberId, String changeType, int amount, String transactionId) {
+        return PointChangedEvent.builder()
+                .memberId(memberId)
+                .changeType(changeType)
+                .amount(BigDecimal.valueOf(amount))
+                .reason("주문 적립")
+                .transactionId(transactionId)
+                .traceId("trace")
+                .sourceService("ORDER_REWARD")
+                .build();
+    }
+}
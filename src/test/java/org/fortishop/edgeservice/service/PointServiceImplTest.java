@@ -2,13 +2,20 @@ package org.fortishop.edgeservice.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import org.fortishop.edgeservice.domain.Member;
 import org.fortishop.edgeservice.domain.MemberPoint;
@@ -16,18 +23,27 @@ import org.fortishop.edgeservice.domain.PointChangeType;
 import org.fortishop.edgeservice.domain.PointHistory;
 import org.fortishop.edgeservice.domain.PointSourceService;
 import org.fortishop.edgeservice.exception.Member.MemberException;
+import org.fortishop.edgeservice.global.idempotency.TransactionIdempotency;
 import org.fortishop.edgeservice.repository.MemberPointRepository;
 import org.fortishop.edgeservice.repository.MemberRepository;
 import org.fortishop.edgeservice.repository.PointHistoryRepository;
 import org.fortishop.edgeservice.dto.request.PointAdjustRequest;
+import org.fortishop.edgeservice.dto.request.PointHistoryCursor;
 import org.fortishop.edgeservice.dto.request.PointTransferRequest;
+import org.fortishop.edgeservice.dto.response.PointHistoryPageResponse;
+import org.fortishop.edgeservice.dto.response.PointHistoryResponse;
 import org.fortishop.edgeservice.dto.response.PointResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 class PointServiceImplTest {
 
@@ -40,6 +56,12 @@ class PointServiceImplTest {
     private MemberPointRepository memberPointRepository;
     @Mock
     private PointHistoryRepository pointHistoryRepository;
+    @Mock
+    private TransactionIdempotency transactionIdempotency;
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
+    private final TransactionIdempotency.Claim claim = new TransactionIdempotency.Claim(false, "processing:owner");
 
     private final String email = "test@fortishop.com";
     private Member member;
@@ -48,6 +70,7 @@ class PointServiceImplTest {
     void setUp() {
         MockitoAnnotations.openMocks(this);
         member = Member.builder().id(1L).email(email).nickname("user").build();
+        when(transactionIdempotency.tryClaim(any())).thenReturn(claim);
     }
 
     @Test
@@ -73,49 +96,135 @@ class PointServiceImplTest {
                 .isInstanceOf(MemberException.class);
     }
 
+    @Test
+    @DisplayName("이력 페이지는 size+1 건을 조회해 다음 페이지 여부와 마지막 행 기준 커서를 내려준다")
+    void getMyHistoryPage_hasNext() {
+        LocalDateTime now = LocalDateTime.of(2025, 1, 1, 12, 0);
+        when(memberRepository.findByEmail(email)).thenReturn(Optional.of(member));
+        when(pointHistoryRepository.findPageByMemberId(eq(member.getId()), eq(PointChangeType.SAVE), any(), any(),
+                any(), eq(3))).thenReturn(List.of(
+                new PointHistoryResponse(30L, PointChangeType.SAVE, BigDecimal.TEN, "a", now),
+                new PointHistoryResponse(20L, PointChangeType.SAVE, BigDecimal.TEN, "b", now),
+                new PointHistoryResponse(10L, PointChangeType.SAVE, BigDecimal.TEN, "c", now.minusMinutes(1))));
+
+        PointHistoryPageResponse page = pointService.getMyHistory(email, null, 2, PointChangeType.SAVE, null, null);
+
+        assertThat(page.getHistories()).extracting(PointHistoryResponse::getId).containsExactly(30L, 20L);
+        assertThat(page.isHasNext()).isTrue();
+        assertThat(PointHistoryCursor.decode(page.getNextCursor())).isEqualTo(new PointHistoryCursor(now, 20L));
+    }
+
+    @Test
+    @DisplayName("커서를 넘기면 해당 (createdAt, id) 이후부터 조회하고, 마지막 페이지에는 커서가 없다")
+    void getMyHistoryPage_lastPage() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 12, 0, 0, 123_456_000);
+        String cursor = new PointHistoryCursor(createdAt, 20L).encode();
+        when(memberRepository.findByEmail(email)).thenReturn(Optional.of(member));
+        when(pointHistoryRepository.findPageByMemberId(eq(member.getId()), any(), any(), any(),
+                eq(new PointHistoryCursor(createdAt, 20L)), anyInt())).thenReturn(List.of(
+                new PointHistoryResponse(10L, PointChangeType.USE, BigDecimal.ONE, "c", createdAt)));
+
+        PointHistoryPageResponse page = pointService.getMyHistory(email, cursor, 20, null, null, null);
+
+        assertThat(page.getHistories()).hasSize(1);
+        assertThat(page.isHasNext()).isFalse();
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("페이지 크기는 최대값으로 제한되고, 잘못된 커서는 IllegalArgumentException 이 발생한다")
+    void getMyHistoryPage_boundsAndInvalidCursor() {
+        when(memberRepository.findByEmail(email)).thenReturn(Optional.of(member));
+        when(pointHistoryRepository.findPageByMemberId(any(), any(), any(), any(), any(), anyInt()))
+                .thenReturn(List.of());
+
+        pointService.getMyHistory(email, null, 10_000, null, null, null);
+
+        verify(pointHistoryRepository).findPageByMemberId(eq(member.getId()), any(), any(), any(), any(),
+                eq(PointServiceImpl.MAX_HISTORY_PAGE_SIZE + 1));
+        assertThatThrownBy(() -> pointService.getMyHistory(email, "not-a-cursor", 20, null, null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("조회 시작 시각이 종료 시각보다 이전이 아니면 조회하지 않고 IllegalArgumentException 이 발생한다")
+    void getMyHistoryPage_invalidRange() {
+        LocalDateTime from = LocalDateTime.of(2025, 1, 2, 0, 0);
+
+        assertThatThrownBy(() -> pointService.getMyHistory(email, null, 20, null, from, from))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> pointService.getMyHistory(email, null, 20, null, from, from.minusDays(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(pointHistoryRepository);
+    }
+
     @Test
     @DisplayName("중복된 트랜잭션 ID일 경우 포인트 적립을 하지 않는다")
     void savePoint_duplicateTransaction() {
-        when(pointHistoryRepository.existsByTransactionId("tx123")).thenReturn(true);
+        when(transactionIdempotency.tryClaim("tx123")).thenReturn(new TransactionIdempotency.Claim(true, null));
 
         pointService.savePoint(email, BigDecimal.valueOf(1000), "적립 사유", "tx123", "trace-1",
                 PointSourceService.MEMBER_ADJUST);
 
         verify(memberRepository, never()).findByEmail(any());
-        verify(memberPointRepository, never()).save(any());
-        verify(pointHistoryRepository, never()).save(any());
+        verify(memberPointRepository, never()).increase(any(), any(), any());
+        verify(pointHistoryRepository, never()).saveAndFlush(any());
     }
 
     @Test
-    @DisplayName("포인트 적립 시 기존 잔액에 금액이 추가된다")
+    @DisplayName("동시에 들어온 중복 요청이 이력 유니크 제약에 걸리면 예외 없이 중복으로 처리한다")
+    void savePoint_duplicateKeyOnHistoryInsert() {
+        when(memberRepository.findByEmail(email)).thenReturn(Optional.of(member));
+        when(pointHistoryRepository.saveAndFlush(any(PointHistory.class)))
+                .thenThrow(new DuplicateKeyException("Duplicate entry 'tx-dup' for key 'transaction_id'"));
+
+        pointService.savePoint(email, BigDecimal.valueOf(1000), "적립", "tx-dup", "trace-dup",
+                PointSourceService.MEMBER_ADJUST);
+
+        verify(memberPointRepository, never()).increase(any(), any(), any());
+        verify(transactionIdempotency, never()).release(any(), any());
+        verify(transactionIdempotency).confirm("tx-dup");
+    }
+
+    @Test
+    @DisplayName("포인트 적립 시 기존 잔액에 금액을 더하는 UPDATE 한 번으로 처리한다")
     void savePoint_success() {
-        MemberPoint point = new MemberPoint(member);
-        when(pointHistoryRepository.existsByTransactionId(any())).thenReturn(false);
         when(memberRepository.findByEmail(email)).thenReturn(Optional.of(member));
-        when(memberPointRepository.findByMember(member)).thenReturn(Optional.of(point));
+        when(memberPointRepository.increase(eq(member.getId()), any(), any())).thenReturn(1);
 
         pointService.savePoint(email, BigDecimal.valueOf(1000), "첫 적립", "tx-001", "trace-001",
                 PointSourceService.MEMBER_ADJUST);
 
-        assertThat(point.getAmount()).isEqualByComparingTo(BigDecimal.valueOf(1000));
-        verify(pointHistoryRepository, times(1)).save(any());
+        verify(memberPointRepository).increase(eq(member.getId()), eq(BigDecimal.valueOf(1000)), any());
+        verify(memberPointRepository, never()).findByMember(any());
+        verify(pointHistoryRepository, times(1)).saveAndFlush(any());
     }
 
     @Test
-    @DisplayName("포인트 차감 시 잔액이 정상적으로 감소한다")
+    @DisplayName("포인트 차감 시 잔액이 충분하면 조건부 UPDATE 로 차감한다")
     void usePoint_success() {
-        MemberPoint point = new MemberPoint(member);
-        point.add(BigDecimal.valueOf(5000));
-
-        when(pointHistoryRepository.existsByTransactionId(any())).thenReturn(false);
         when(memberRepository.findByEmail(email)).thenReturn(Optional.of(member));
-        when(memberPointRepository.findByMember(member)).thenReturn(Optional.of(point));
+        when(memberPointRepository.decrease(eq(member.getId()), eq(BigDecimal.valueOf(3000)), any())).thenReturn(1);
 
         pointService.usePoint(email, BigDecimal.valueOf(3000), "사용", "tx-use-1", "trace-use-1",
                 PointSourceService.MEMBER_ADJUST);
 
-        assertThat(point.getAmount()).isEqualByComparingTo(BigDecimal.valueOf(2000));
-        verify(pointHistoryRepository).save(any(PointHistory.class));
+        verify(memberPointRepository, never()).existsByMemberId(any());
+        verify(pointHistoryRepository).saveAndFlush(any(PointHistory.class));
+    }
+
+    @Test
+    @DisplayName("포인트 행이 없으면 차감 시 IllegalStateException 이 발생한다")
+    void usePoint_pointNotFound() {
+        when(memberRepository.findByEmail(email)).thenReturn(Optional.of(member));
+        when(memberPointRepository.decrease(eq(member.getId()), any(), any())).thenReturn(0);
+        when(memberPointRepository.existsByMemberId(member.getId())).thenReturn(false);
+
+        assertThatThrownBy(() -> pointService.usePoint(email, BigDecimal.valueOf(3000), "사용", "tx-use-2",
+                "trace-use-2", PointSourceService.MEMBER_ADJUST))
+                .isInstanceOf(IllegalStateException.class);
+        verify(transactionIdempotency).release("tx-use-2", claim);
+        verify(transactionIdempotency, never()).confirm(any());
     }
 
     @Test
@@ -124,7 +233,6 @@ class PointServiceImplTest {
         PointTransferRequest request = new PointTransferRequest(999L, BigDecimal.valueOf(1000), "전송", "tx-tf-1",
                 "trace-tf-1", "tx-tf-2", "trace-tf-2");
 
-        when(pointHistoryRepository.existsByTransactionId(any())).thenReturn(false);
         when(memberRepository.findByEmail(email)).thenReturn(Optional.of(member));
         when(memberRepository.findById(999L)).thenReturn(Optional.empty());
 
@@ -136,19 +244,35 @@ class PointServiceImplTest {
     @Test
     @DisplayName("관리자가 차감 요청 시 잔액이 부족하면 예외가 발생한다")
     void adjustPoint_insufficientBalance() {
-        MemberPoint point = new MemberPoint(member);
-        point.add(BigDecimal.valueOf(1000));
-
         PointAdjustRequest request = new PointAdjustRequest(member.getId(), BigDecimal.valueOf(2000),
                 PointChangeType.USE, "관리자 차감", "tx-aj-1", "trace-aj-1");
 
-        when(pointHistoryRepository.existsByTransactionId(any())).thenReturn(false);
         when(memberRepository.findById(member.getId())).thenReturn(Optional.of(member));
-        when(memberPointRepository.findByMember(member)).thenReturn(Optional.of(point));
+        when(memberPointRepository.decrease(eq(member.getId()), eq(BigDecimal.valueOf(2000)), any())).thenReturn(0);
+        when(memberPointRepository.existsByMemberId(member.getId())).thenReturn(true);
 
         assertThatThrownBy(() ->
                 pointService.adjustPoint(request, email, PointSourceService.MEMBER_ADJUST)
         ).isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("잔액이 부족");
     }
+
+    @Test
+    @DisplayName("송금은 member id 순서로 차감과 적립을 수행한다")
+    void transferPoint_locksInMemberIdOrder() {
+        Member receiver = Member.builder().id(0L).email("receiver@fortishop.com").nickname("receiver").build();
+        PointTransferRequest request = new PointTransferRequest(0L, BigDecimal.valueOf(1000), "전송", "tx-tf-3",
+                "trace-tf-3", "tx-tf-4", "trace-tf-4");
+
+        when(memberRepository.findByEmail(email)).thenReturn(Optional.of(member));
+        when(memberRepository.findById(0L)).thenReturn(Optional.of(receiver));
+        when(memberPointRepository.decrease(eq(member.getId()), any(), any())).thenReturn(1);
+
+        pointService.transferPoint(email, request, PointSourceService.MEMBER_TRANSFER);
+
+        InOrder inOrder = inOrder(memberPointRepository);
+        inOrder.verify(memberPointRepository).increase(eq(0L), eq(BigDecimal.valueOf(1000)), any());
+        inOrder.verify(memberPointRepository).decrease(eq(member.getId()), eq(BigDecimal.valueOf(1000)), any());
+        verify(pointHistoryRepository, times(2)).saveAndFlush(any(PointHistory.class));
+    }
 }
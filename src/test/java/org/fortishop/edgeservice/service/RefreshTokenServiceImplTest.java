@@ -2,28 +2,31 @@ package org.fortishop.edgeservice.service;
 
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.BDDMockito.any;
+import static org.mockito.BDDMockito.anyLong;
+import static org.mockito.BDDMockito.anyString;
 import static org.mockito.BDDMockito.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.mock;
+import static org.mockito.BDDMockito.never;
 import static org.mockito.BDDMockito.verify;
 
 import io.jsonwebtoken.Claims;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import java.time.Duration;
-import java.time.LocalDateTime;
 import java.util.Optional;
 import org.fortishop.edgeservice.auth.TokenDto;
-import org.fortishop.edgeservice.auth.jwt.JwtProperties;
 import org.fortishop.edgeservice.auth.jwt.JwtTokenProvider;
+import org.fortishop.edgeservice.auth.refresh.RefreshTokenStore;
+import org.fortishop.edgeservice.auth.refresh.RefreshTokenStore.Rotation;
+import org.fortishop.edgeservice.auth.revocation.MemberTokenVersions;
+import org.fortishop.edgeservice.auth.revocation.TokenBlacklist;
 import org.fortishop.edgeservice.domain.Member;
-import org.fortishop.edgeservice.domain.RefreshToken;
+import org.fortishop.edgeservice.domain.Role;
+import org.fortishop.edgeservice.exception.Member.MemberException;
 import org.fortishop.edgeservice.exception.Member.MemberExceptionType;
 import org.fortishop.edgeservice.exception.Token.TokenException;
 import org.fortishop.edgeservice.exception.Token.TokenExceptionType;
-import org.fortishop.edgeservice.global.redis.RedisService;
 import org.fortishop.edgeservice.repository.MemberRepository;
-import org.fortishop.edgeservice.repository.RefreshTokenRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -40,11 +43,11 @@ public class RefreshTokenServiceImplTest {
     @Mock
     private MemberRepository memberRepository;
     @Mock
-    private RefreshTokenRepository refreshTokenRepository;
+    private RefreshTokenStore refreshTokenStore;
     @Mock
-    private JwtProperties jwtProperties;
+    private TokenBlacklist tokenBlacklist;
     @Mock
-    private RedisService redisService;
+    private MemberTokenVersions memberTokenVersions;
     @Mock
     private HttpServletRequest request;
     @Mock
@@ -58,34 +61,21 @@ public class RefreshTokenServiceImplTest {
     @Test
     void reissueAccessToken_success() {
         String refreshToken = "valid-refresh-token";
-        String email = "user@a.com";
-
-        Member member = Member.builder().id(1L).email(email).role(org.fortishop.edgeservice.domain.Role.ROLE_USER)
-                .build();
-        RefreshToken stored = RefreshToken.builder().id(1L).member(member).token(refreshToken)
-                .expiresAt(LocalDateTime.now().plusDays(7)).build();
-
-        given(jwtTokenProvider.resolveRefreshToken(request)).willReturn(refreshToken);
-        given(jwtTokenProvider.validateToken(refreshToken)).willReturn(true);
-        Claims claims = mock(Claims.class);
-        given(jwtTokenProvider.parseClaims(refreshToken)).willReturn(claims);
-        given(claims.getSubject()).willReturn(email);
-        given(memberRepository.findByEmail(email)).willReturn(Optional.of(member));
-        given(refreshTokenRepository.findByMember(member)).willReturn(Optional.of(stored));
+        Claims claims = givenRefreshToken(refreshToken);
 
         TokenDto newToken = TokenDto.builder()
                 .accessToken("new-access-token")
                 .refreshToken("new-refresh-token")
+                .refreshTokenExpiresIn(System.currentTimeMillis() + 60_000L)
                 .build();
-        given(jwtTokenProvider.generateTokenDto(any())).willReturn(newToken);
-        given(jwtTokenProvider.getRefreshExpirationDate()).willReturn(
-                java.sql.Timestamp.valueOf(LocalDateTime.now().plusDays(7)));
+        given(jwtTokenProvider.generateTokenDto(any(), anyLong(), eq("device-1"))).willReturn(newToken);
+        given(refreshTokenStore.rotate(eq(1L), eq("device-1"), eq(refreshToken), eq("new-refresh-token"), any()))
+                .willReturn(Rotation.ROTATED);
 
         refreshTokenService.reissueAccessToken(request, response);
 
         verify(jwtTokenProvider).accessTokenSetHeader("new-access-token", response);
         verify(jwtTokenProvider).setTokenCookie("refreshToken", "new-refresh-token", response);
-        verify(refreshTokenRepository).save(stored);
     }
 
     @Test
@@ -113,59 +103,90 @@ public class RefreshTokenServiceImplTest {
     @Test
     void reissueAccessToken_fail_member_not_found() {
         String token = "valid-token";
-        Claims claims = mock(Claims.class);
-        given(jwtTokenProvider.resolveRefreshToken(request)).willReturn(token);
-        given(jwtTokenProvider.validateToken(token)).willReturn(true);
-        given(jwtTokenProvider.parseClaims(token)).willReturn(claims);
-        given(claims.getSubject()).willReturn("notfound@a.com");
-        given(memberRepository.findByEmail("notfound@a.com")).willReturn(Optional.empty());
+        givenRefreshToken(token);
+        given(memberRepository.findById(1L)).willReturn(Optional.empty());
 
         assertThatThrownBy(() -> refreshTokenService.reissueAccessToken(request, response))
-                .isInstanceOf(org.fortishop.edgeservice.exception.Member.MemberException.class)
+                .isInstanceOf(MemberException.class)
                 .extracting("exceptionType")
                 .isEqualTo(MemberExceptionType.MEMBER_NOT_FOUND);
     }
 
+    @Test
+    void reissueAccessToken_fail_not_stored() {
+        String token = "logged-out-token";
+        givenRefreshToken(token);
+        given(jwtTokenProvider.generateTokenDto(any(), anyLong(), anyString()))
+                .willReturn(TokenDto.builder().refreshToken("new-refresh-token")
+                        .refreshTokenExpiresIn(System.currentTimeMillis() + 60_000L).build());
+        given(refreshTokenStore.rotate(eq(1L), eq("device-1"), eq(token), eq("new-refresh-token"), any()))
+                .willReturn(Rotation.NOT_FOUND);
+
+        assertThatThrownBy(() -> refreshTokenService.reissueAccessToken(request, response))
+                .isInstanceOf(TokenException.class)
+                .extracting("exceptionType")
+                .isEqualTo(TokenExceptionType.REFRESH_TOKEN_NOT_FOUND);
+    }
+
     @Test
     void reissueAccessToken_fail_token_mismatch() {
         String token = "old-token";
-        Member member = Member.builder().id(1L).email("user@a.com")
-                .role(org.fortishop.edgeservice.domain.Role.ROLE_USER).build();
-        RefreshToken stored = RefreshToken.builder().token("different-token").member(member).build();
-
-        Claims claims = mock(Claims.class);
-        given(jwtTokenProvider.resolveRefreshToken(request)).willReturn(token);
-        given(jwtTokenProvider.validateToken(token)).willReturn(true);
-        given(jwtTokenProvider.parseClaims(token)).willReturn(claims);
-        given(claims.getSubject()).willReturn("user@a.com");
-        given(memberRepository.findByEmail("user@a.com")).willReturn(Optional.of(member));
-        given(refreshTokenRepository.findByMember(member)).willReturn(Optional.of(stored));
+        givenRefreshToken(token);
+        given(jwtTokenProvider.generateTokenDto(any(), anyLong(), anyString()))
+                .willReturn(TokenDto.builder().refreshToken("new-refresh-token")
+                        .refreshTokenExpiresIn(System.currentTimeMillis() + 60_000L).build());
+        given(refreshTokenStore.rotate(eq(1L), eq("device-1"), eq(token), eq("new-refresh-token"), any()))
+                .willReturn(Rotation.MISMATCH);
 
         assertThatThrownBy(() -> refreshTokenService.reissueAccessToken(request, response))
                 .isInstanceOf(TokenException.class)
                 .extracting("exceptionType")
                 .isEqualTo(TokenExceptionType.TOKEN_MISMATCH);
+        verify(jwtTokenProvider, never()).setTokenCookie(anyString(), anyString(), any());
+    }
+
+    @Test
+    void reissueAccessToken_fail_revoked_version() {
+        String token = "stale-token";
+        Claims claims = givenRefreshToken(token);
+        given(memberTokenVersions.current(1L)).willReturn(2L);
+        given(memberTokenVersions.versionOf(claims)).willReturn(1L);
+
+        assertThatThrownBy(() -> refreshTokenService.reissueAccessToken(request, response))
+                .isInstanceOf(TokenException.class)
+                .extracting("exceptionType")
+                .isEqualTo(TokenExceptionType.TOKEN_REVOKED);
+    }
+
+    @Test
+    void logoutAll_success() {
+        String accessToken = "access-token";
+        Claims claims = mock(Claims.class);
+        given(jwtTokenProvider.parseClaims(accessToken)).willReturn(claims);
+        given(claims.get("memberId")).willReturn(1L);
+
+        refreshTokenService.logoutAll(accessToken);
+
+        verify(refreshTokenStore).deleteAll(1L);
+        verify(memberTokenVersions).revokeAll(1L);
     }
 
     @Test
     void logout_success() {
         String accessToken = "access-token";
         String refreshToken = "refresh-token";
-        Member member = Member.builder().id(1L).email("user@a.com")
-                .role(org.fortishop.edgeservice.domain.Role.ROLE_USER).build();
-        RefreshToken stored = RefreshToken.builder().member(member).token(refreshToken).build();
         Claims claims = mock(Claims.class);
+        Claims refreshClaims = mock(Claims.class);
 
         given(jwtTokenProvider.parseClaims(accessToken)).willReturn(claims);
-        given(claims.getSubject()).willReturn("user@a.com");
-        given(memberRepository.findByEmail("user@a.com")).willReturn(Optional.of(member));
-        given(refreshTokenRepository.findByMember(member)).willReturn(Optional.of(stored));
-        given(jwtProperties.getAccessTokenValidity()).willReturn(1000L * 60 * 30); // 30분
+        given(jwtTokenProvider.parseClaims(refreshToken)).willReturn(refreshClaims);
+        given(jwtTokenProvider.getDeviceId(refreshClaims)).willReturn("device-1");
+        given(claims.get("memberId")).willReturn(1L);
 
         refreshTokenService.logout(refreshToken, accessToken);
 
-        verify(refreshTokenRepository).delete(stored);
-        verify(redisService).setValues(eq(accessToken), eq("logout"), any(Duration.class));
+        verify(refreshTokenStore).delete(1L, "device-1");
+        verify(tokenBlacklist).revoke(claims, accessToken);
     }
 
     @Test
@@ -176,5 +197,17 @@ public class RefreshTokenServiceImplTest {
         assertThatThrownBy(() -> refreshTokenService.logout("refresh", ""))
                 .isInstanceOf(TokenException.class);
     }
-}
 
+    private Claims givenRefreshToken(String refreshToken) {
+        Claims claims = mock(Claims.class);
+        given(jwtTokenProvider.resolveRefreshToken(request)).willReturn(refreshToken);
+        given(jwtTokenProvider.validateToken(refreshToken)).willReturn(true);
+        given(jwtTokenProvider.parseClaims(refreshToken)).willReturn(claims);
+        given(jwtTokenProvider.getDeviceId(claims)).willReturn("device-1");
+        given(claims.getSubject()).willReturn("user@a.com");
+        given(claims.get("memberId")).willReturn(1L);
+        given(memberRepository.findById(1L)).willReturn(Optional.of(
+                Member.builder().id(1L).email("user@a.com").role(Role.ROLE_USER).deleted(false).build()));
+        return claims;
+    }
+}